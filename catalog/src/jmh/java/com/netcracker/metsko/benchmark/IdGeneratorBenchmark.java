@@ -0,0 +1,91 @@
+package com.netcracker.metsko.benchmark;
+
+import com.netcracker.metsko.CatalogApplication;
+import com.netcracker.metsko.entity.dto.OfferImportDTO;
+import com.netcracker.metsko.exceptions.NotCreatedException;
+import com.netcracker.metsko.service.OfferService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports offers with prices through OfferService.importOffers under both id strategies. "auto"
+ * sets the offer and price sequences to an increment of 1, which is what GenerationType.AUTO did:
+ * one sequence call per inserted row. "pooledLo" keeps the mapped blocks of 100. The prepared
+ * statements per imported offer are printed at tear down.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    private static final int OFFERS = 1000;
+
+    @Param({"auto", "pooledLo"})
+    private String idGenerator;
+
+    private ConfigurableApplicationContext context;
+
+    private OfferService offerService;
+
+    private Statistics statistics;
+
+    private long imported;
+
+    @Setup
+    public void setUp() {
+        List<String> args = new ArrayList<>();
+        args.add("--spring.profiles.active=container");
+        args.add("--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        args.add("--spring.datasource.username=sa");
+        args.add("--spring.datasource.password=sa");
+        args.add("--spring.jpa.hibernate.ddl-auto=create");
+        args.add("--server.port=0");
+        args.add("--flyway.enabled=false");
+        args.add("--eureka.client.enabled=false");
+        if ("auto".equals(idGenerator)) {
+            args.add("--spring.jpa.properties.hibernate.id.increment_size.offer_seq=1");
+            args.add("--spring.jpa.properties.hibernate.id.increment_size.price_seq=1");
+        }
+        context = new SpringApplicationBuilder(CatalogApplication.class).run(args.toArray(new String[0]));
+        offerService = context.getBean(OfferService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.println();
+        System.out.println(idGenerator + ": " + (double) statistics.getPrepareStatementCount() / Math.max(imported, 1)
+                + " prepared statements per imported offer");
+        context.close();
+    }
+
+    @Benchmark
+    public long importOffers() throws SQLException, NotCreatedException {
+        List<OfferImportDTO> offers = new ArrayList<>(OFFERS);
+        for (int i = 0; i < OFFERS; i++) {
+            long n = imported + i;
+            OfferImportDTO dto = new OfferImportDTO();
+            dto.setName("Item" + n);
+            dto.setDescription("description of item " + n);
+            dto.setAvailability(true);
+            dto.setPrice(n % 500 + 0.99);
+            dto.setCurrency("USD");
+            offers.add(dto);
+        }
+        imported += OFFERS;
+        return offerService.importOffers(offers.iterator()).getImported();
+    }
+}
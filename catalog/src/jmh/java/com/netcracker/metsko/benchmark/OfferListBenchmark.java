@@ -0,0 +1,131 @@
+package com.netcracker.metsko.benchmark;
+
+import com.netcracker.metsko.CatalogApplication;
+import com.netcracker.metsko.entity.Category;
+import com.netcracker.metsko.entity.Offer;
+import com.netcracker.metsko.entity.Price;
+import com.netcracker.metsko.entity.Tag;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.embedded.EmbeddedWebApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the offer list endpoints over HTTP while every offer carries tagsPerOffer tags out of
+ * a pool of 200 and belongs to one of 20 categories. Neither tags nor categories are part of
+ * OfferDTO, so the list latency should stay flat as the tag count grows. With no tags the tag
+ * search answers an empty list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OfferListBenchmark {
+
+    private static final int OFFERS = 5000;
+
+    private static final int TAGS = 200;
+
+    private static final int CATEGORIES = 20;
+
+    @Param({"0", "5", "20"})
+    private int tagsPerOffer;
+
+    private ConfigurableApplicationContext context;
+
+    private String baseUrl;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CatalogApplication.class).run(
+                "--spring.profiles.active=container",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=sa",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--server.port=0",
+                "--flyway.enabled=false",
+                "--eureka.client.enabled=false");
+        EntityManager entityManager = context.getBean(javax.persistence.EntityManagerFactory.class).createEntityManager();
+        entityManager.getTransaction().begin();
+        List<Tag> tags = new ArrayList<>();
+        for (int i = 0; i < TAGS; i++) {
+            Tag tag = new Tag("tag" + i, null);
+            entityManager.persist(tag);
+            tags.add(tag);
+        }
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES; i++) {
+            Category category = new Category("category" + i, null);
+            entityManager.persist(category);
+            categories.add(category);
+        }
+        for (int i = 0; i < OFFERS; i++) {
+            List<Tag> offerTags = new ArrayList<>();
+            for (int t = 0; t < tagsPerOffer; t++) {
+                offerTags.add(tags.get((i + t * 7) % TAGS));
+            }
+            Offer offer = new Offer("Item" + i, "description of item " + i, true, null, offerTags, "",
+                    categories.get(i % CATEGORIES));
+            Price price = new Price(i % 500 + 0.99, "USD", offer);
+            offer.setPrice(price);
+            entityManager.persist(offer);
+            entityManager.persist(price);
+            if (i % 500 == 499) {
+                entityManager.flush();
+            }
+        }
+        entityManager.getTransaction().commit();
+        entityManager.close();
+        int port = ((EmbeddedWebApplicationContext) context).getEmbeddedServletContainer().getPort();
+        baseUrl = "http://localhost:" + port + "/api/v1/catalog";
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long fetchAll() throws IOException {
+        return fetch("/offers");
+    }
+
+    @Benchmark
+    public long fetchPage() throws IOException {
+        return fetch("/offers?after=0&limit=50");
+    }
+
+    @Benchmark
+    public long fetchByTag() throws IOException {
+        return fetch("/offers/searchbytags?tagList=tag0");
+    }
+
+    private long fetch(String path) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        connection.setRequestProperty("Accept", "application/json");
+        connection.setRequestProperty("Accept-Encoding", "identity");
+        if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+            throw new IllegalStateException(path + " answered " + connection.getResponseCode());
+        }
+        long read = 0;
+        byte[] buffer = new byte[8192];
+        try (InputStream in = connection.getInputStream()) {
+            for (int n; (n = in.read(buffer)) != -1; ) {
+                read += n;
+            }
+        }
+        return read;
+    }
+}
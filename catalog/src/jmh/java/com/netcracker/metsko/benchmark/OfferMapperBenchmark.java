@@ -0,0 +1,58 @@
+package com.netcracker.metsko.benchmark;
+
+import com.netcracker.metsko.entity.Offer;
+import com.netcracker.metsko.entity.Price;
+import com.netcracker.metsko.entity.dto.OfferDTO;
+import com.netcracker.metsko.mapper.OfferMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Maps a page of offers to OfferDTOs with ModelMapper, as the controllers used to, and with OfferMapper.
+ * Run with "-prof gc" to get the allocation rate next to the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OfferMapperBenchmark {
+
+    private static final int OFFERS = 1000;
+
+    private ModelMapper modelMapper;
+
+    private OfferMapper offerMapper;
+
+    private List<Offer> offers;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        offerMapper = new OfferMapper();
+        offers = new ArrayList<>(OFFERS);
+        for (int i = 0; i < OFFERS; i++) {
+            Offer offer = new Offer("Item" + i, "item " + i, true, new Price(i + 0.99, "USD", null), new ArrayList<>(), "", null);
+            offer.setId(i);
+            offers.add(offer);
+        }
+    }
+
+    @Benchmark
+    public List<OfferDTO> modelMapper() {
+        return offers.stream()
+                .map(offer -> modelMapper.map(offer, OfferDTO.class))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<OfferDTO> offerMapper() {
+        return offerMapper.toDTOList(offers);
+    }
+}
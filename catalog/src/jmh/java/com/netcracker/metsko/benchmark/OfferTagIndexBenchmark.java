@@ -0,0 +1,86 @@
+package com.netcracker.metsko.benchmark;
+
+import com.netcracker.metsko.entity.Offer;
+import com.netcracker.metsko.index.OfferTagIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Answers tag searches the way findByTags used to, by running checkTags over every loaded offer,
+ * and with OfferTagIndex. The scan starts from offers already in memory, so it leaves out the
+ * findAll query that the old code also paid for.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class OfferTagIndexBenchmark {
+
+    private static final int TAGS = 500;
+
+    private static final int TAGS_PER_OFFER = 3;
+
+    private static final String SEARCH = "tag7 tag42";
+
+    @Param({"10000", "100000", "1000000"})
+    private int offerCount;
+
+    private List<Offer> offers;
+
+    private OfferTagIndex index;
+
+    private List<String> searchTags;
+
+    @Setup
+    public void setUp() {
+        offers = new ArrayList<>(offerCount);
+        index = new OfferTagIndex();
+        for (int i = 0; i < offerCount; i++) {
+            StringBuilder tags = new StringBuilder();
+            for (int t = 0; t < TAGS_PER_OFFER; t++) {
+                String tag = "tag" + ((i * 31 + t * 97) % TAGS);
+                tags.append(tag).append(' ');
+                index.addTag(tag, i);
+            }
+            Offer offer = new Offer("Item" + i, "item " + i, true, null, new ArrayList<>(), tags.toString(), null);
+            offer.setId(i);
+            offers.add(offer);
+        }
+        searchTags = Arrays.asList(SEARCH.split(" "));
+    }
+
+    @Benchmark
+    public List<Offer> scan() {
+        return offers.stream()
+                .filter(offer -> checkTags(offer.getTags(), SEARCH))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Long> indexAny() {
+        return index.findAny(searchTags);
+    }
+
+    @Benchmark
+    public List<Long> indexAll() {
+        return index.findAll(searchTags);
+    }
+
+    // the matcher findByTags used before the index
+    private static boolean checkTags(String offerTags, String filterTags) {
+        String[] filter = filterTags.trim().split(" ");
+        for (String tag : filter) {
+            if (offerTags.contains(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
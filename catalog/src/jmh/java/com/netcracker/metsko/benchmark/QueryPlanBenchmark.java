@@ -0,0 +1,81 @@
+package com.netcracker.metsko.benchmark;
+
+import com.netcracker.metsko.CatalogApplication;
+import com.netcracker.metsko.entity.Offer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks offers up by name the way the DAOs did before and after moving to named
+ * queries: a JPQL string with the value concatenated in, and the parameterized
+ * Offer.findByName named query. The names cycle through far more values than plan_cache_max_size,
+ * so the concatenated variant keeps missing Hibernate's query plan cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryPlanBenchmark {
+
+    private static final int OFFERS = 1000;
+
+    private ConfigurableApplicationContext context;
+
+    private EntityManager entityManager;
+
+    private long next;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CatalogApplication.class).run(
+                "--spring.profiles.active=container",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=sa",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--server.port=0",
+                "--flyway.enabled=false",
+                "--eureka.client.enabled=false");
+        EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        for (int i = 0; i < OFFERS; i++) {
+            entityManager.persist(new Offer("Item" + i, "item " + i, true, null, new ArrayList<>(), "", null));
+        }
+        entityManager.getTransaction().commit();
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        context.close();
+    }
+
+    @Benchmark
+    public List<Offer> concatenated() {
+        entityManager.clear();
+        return entityManager.createQuery("select o from Offer o where o.name = '" + nextName() + "'", Offer.class)
+                .getResultList();
+    }
+
+    @Benchmark
+    public List<Offer> namedQuery() {
+        entityManager.clear();
+        return entityManager.createNamedQuery("Offer.findByName", Offer.class)
+                .setParameter("name", nextName())
+                .getResultList();
+    }
+
+    private String nextName() {
+        return "Item" + (next++ % (OFFERS * 100));
+    }
+}
@@ -0,0 +1,105 @@
+package com.netcracker.metsko.benchmark;
+
+import com.netcracker.metsko.CatalogApplication;
+import com.netcracker.metsko.entity.Offer;
+import com.netcracker.metsko.entity.Price;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.embedded.EmbeddedWebApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fetches the full offer list over HTTP as plain JSON, gzipped JSON and Smile. The sampled
+ * latencies give p99 per encoding. The response size on the wire is printed at tear down.
+ * Brotli is not measured because Tomcat 8.5 cannot produce it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    private static final int OFFERS = 5000;
+
+    @Param({"json", "gzip", "smile"})
+    private String encoding;
+
+    private ConfigurableApplicationContext context;
+
+    private URL url;
+
+    private long bytes;
+
+    private long responses;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = new SpringApplicationBuilder(CatalogApplication.class).run(
+                "--spring.profiles.active=container",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=sa",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--server.port=0",
+                "--flyway.enabled=false",
+                "--eureka.client.enabled=false");
+        EntityManager entityManager = context.getBean(javax.persistence.EntityManagerFactory.class).createEntityManager();
+        entityManager.getTransaction().begin();
+        for (int i = 0; i < OFFERS; i++) {
+            Offer offer = new Offer("Item" + i, "description of item " + i, true, null, new ArrayList<>(), "", null);
+            Price price = new Price(i % 500 + 0.99, "USD", offer);
+            offer.setPrice(price);
+            entityManager.persist(offer);
+            entityManager.persist(price);
+        }
+        entityManager.getTransaction().commit();
+        entityManager.close();
+        int port = ((EmbeddedWebApplicationContext) context).getEmbeddedServletContainer().getPort();
+        url = new URL("http://localhost:" + port + "/api/v1/catalog/offers");
+
+        HttpURLConnection connection = open();
+        String contentEncoding = connection.getContentEncoding();
+        connection.getInputStream().close();
+        if ("gzip".equals(encoding) != "gzip".equals(contentEncoding)) {
+            throw new IllegalStateException("Unexpected Content-Encoding " + contentEncoding + " for " + encoding);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.println();
+        System.out.println(encoding + ": " + bytes / Math.max(responses, 1) + " bytes on the wire per response");
+        context.close();
+    }
+
+    @Benchmark
+    public long fetchAll() throws IOException {
+        long read = 0;
+        byte[] buffer = new byte[8192];
+        try (InputStream in = open().getInputStream()) {
+            for (int n; (n = in.read(buffer)) != -1; ) {
+                read += n;
+            }
+        }
+        bytes += read;
+        responses++;
+        return read;
+    }
+
+    private HttpURLConnection open() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestProperty("Accept", "smile".equals(encoding) ? "application/x-jackson-smile" : "application/json");
+        connection.setRequestProperty("Accept-Encoding", "gzip".equals(encoding) ? "gzip" : "identity");
+        return connection;
+    }
+}
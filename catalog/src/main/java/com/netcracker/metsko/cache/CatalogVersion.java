@@ -0,0 +1,51 @@
+package com.netcracker.metsko.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Catalog-wide change counter behind the HTTP ETags, kept in the catalog_version row so every
+ * instance sees the same value. A transaction that writes catalog data bumps it once, on its own
+ * connection, so the new tag becomes visible exactly when the data does.
+ */
+@Component
+public class CatalogVersion {
+
+    private static final String SELECT_VERSION = "select version from catalog_version where id = 1";
+
+    private static final String BUMP_VERSION = "update catalog_version set version = version + 1 where id = 1";
+
+    private static final String INSERT_VERSION = "insert into catalog_version (id, version) values (1, 1)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public String etag() {
+        List<Long> versions = jdbcTemplate.queryForList(SELECT_VERSION, Long.class);
+        return "\"" + (versions.isEmpty() ? 0 : versions.get(0)) + "\"";
+    }
+
+    public void markChanged() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (TransactionSynchronizationManager.hasResource(this)) {
+                return;
+            }
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CatalogVersion.this);
+                }
+            });
+        }
+        // a schema generated by Hibernate starts without the row
+        if (jdbcTemplate.update(BUMP_VERSION) == 0) {
+            jdbcTemplate.update(INSERT_VERSION);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.netcracker.metsko.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * Serialized OfferDTO bytes by offer id. Writers invalidate after commit; a load racing
+ * with an invalidation is dropped because Caffeine runs both under the same key lock.
+ */
+@Component
+public class OfferDtoCache {
+
+    private final Cache<Long, byte[]> offers;
+
+    public OfferDtoCache(@Value("${offer-cache.max-size:10000}") long maxSize) {
+        this.offers = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached bytes, or loads them; a null from the loader is not cached.
+     */
+    public byte[] get(long offerId, Function<Long, byte[]> loader) {
+        return offers.get(offerId, loader);
+    }
+
+    public void invalidate(long offerId) {
+        offers.invalidate(offerId);
+    }
+
+    public CacheStats stats() {
+        return offers.stats();
+    }
+
+    public long size() {
+        return offers.estimatedSize();
+    }
+}
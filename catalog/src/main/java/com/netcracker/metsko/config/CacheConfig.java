@@ -0,0 +1,56 @@
+package com.netcracker.metsko.config;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.netcracker.metsko.cache.OfferDtoCache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Publishes second-level cache hits, misses and puts per region on /metrics.
+     */
+    @Bean
+    public PublicMetrics secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return () -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            Collection<Metric<?>> metrics = new ArrayList<>();
+            for (String region : statistics.getSecondLevelCacheRegionNames()) {
+                SecondLevelCacheStatistics cache = statistics.getSecondLevelCacheStatistics(region);
+                String prefix = "hibernate.cache." + region;
+                metrics.add(new Metric<>(prefix + ".hit", cache.getHitCount()));
+                metrics.add(new Metric<>(prefix + ".miss", cache.getMissCount()));
+                metrics.add(new Metric<>(prefix + ".put", cache.getPutCount()));
+                metrics.add(new Metric<>(prefix + ".size", cache.getElementCountInMemory()));
+            }
+            return metrics;
+        };
+    }
+
+    /**
+     * Publishes the serialized offer cache counters on /metrics.
+     */
+    @Bean
+    public PublicMetrics offerDtoCacheMetrics(OfferDtoCache offerDtoCache) {
+        return () -> {
+            CacheStats stats = offerDtoCache.stats();
+            Collection<Metric<?>> metrics = new ArrayList<>();
+            metrics.add(new Metric<>("cache.offer.hit", stats.hitCount()));
+            metrics.add(new Metric<>("cache.offer.miss", stats.missCount()));
+            metrics.add(new Metric<>("cache.offer.hit.ratio", stats.hitRate()));
+            metrics.add(new Metric<>("cache.offer.eviction", stats.evictionCount()));
+            metrics.add(new Metric<>("cache.offer.size", offerDtoCache.size()));
+            return metrics;
+        };
+    }
+}
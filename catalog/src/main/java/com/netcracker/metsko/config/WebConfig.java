@@ -1,22 +1,42 @@
 package com.netcracker.metsko.config;
 
+import com.netcracker.metsko.interceptor.EtagInterceptor;
 import com.netcracker.metsko.interceptor.LoggerInterceptor;
-import org.modelmapper.ModelMapper;
-import org.springframework.context.annotation.Bean;
+import com.netcracker.metsko.interceptor.StatisticsInterceptor;
+import com.netcracker.metsko.util.SmileHttpMessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
 
+import java.util.List;
+
 @Configuration
 public class WebConfig extends WebMvcConfigurerAdapter{
 
+    @Autowired
+    private LoggerInterceptor loggerInterceptor;
+
+    @Autowired
+    private StatisticsInterceptor statisticsInterceptor;
+
+    @Autowired
+    private EtagInterceptor etagInterceptor;
+
+    @Autowired
+    private Jackson2ObjectMapperBuilder objectMapperBuilder;
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new LoggerInterceptor());
+        registry.addInterceptor(loggerInterceptor);
+        registry.addInterceptor(statisticsInterceptor);
+        registry.addInterceptor(etagInterceptor).addPathPatterns("/api/v1/catalog/**");
     }
 
-    @Bean
-    public ModelMapper modelMapper() {
-        return new ModelMapper();
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new SmileHttpMessageConverter(objectMapperBuilder));
     }
 }
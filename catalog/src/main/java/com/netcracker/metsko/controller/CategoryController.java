@@ -1,13 +1,19 @@
 package com.netcracker.metsko.controller;
 
 import com.netcracker.metsko.entity.Category;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.netcracker.metsko.entity.ExceptionMessage;
 import com.netcracker.metsko.entity.Offer;
+import com.netcracker.metsko.entity.dto.CategoryDTO;
+import com.netcracker.metsko.entity.dto.OfferDTO;
 import com.netcracker.metsko.exceptions.NotCreatedException;
 import com.netcracker.metsko.exceptions.NotDeletedException;
 import com.netcracker.metsko.exceptions.NotFoundException;
 import com.netcracker.metsko.exceptions.NotUpdatedException;
+import com.netcracker.metsko.mapper.CategoryMapper;
+import com.netcracker.metsko.mapper.OfferMapper;
 import com.netcracker.metsko.service.CategoryService;
+import com.netcracker.metsko.util.NdjsonWriter;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
@@ -18,6 +24,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.sql.SQLException;
 import java.util.List;
 
@@ -29,6 +37,15 @@ public class CategoryController {
     @Autowired
     private CategoryService categoryService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OfferMapper offerMapper;
+
+    @Autowired
+    private CategoryMapper categoryMapper;
+
     public CategoryController() {
     }
 
@@ -97,7 +114,7 @@ public class CategoryController {
     @GetMapping
     @ApiOperation(httpMethod = "GET",
             value = "Find all categories",
-            response = Category.class,
+            response = CategoryDTO.class,
             nickname = "findAll",
             responseContainer = "List")
     @ApiResponses(value = {
@@ -105,15 +122,29 @@ public class CategoryController {
             @ApiResponse(code = 404, message = "Categories not found"),
             @ApiResponse(code = 500, message = "Error")
     })
-    public ResponseEntity<List<Category>> findAll() throws NotFoundException, SQLException {
+    public ResponseEntity<List<CategoryDTO>> findAll(@RequestParam(value = "after", required = false) Long after,
+                                             @RequestParam(value = "limit", defaultValue = "100") int limit) throws NotFoundException, SQLException {
         try {
-            List<Category> categoryList = categoryService.findAll();
-            return new ResponseEntity<>(categoryList, HttpStatus.OK);
+            List<Category> categoryList = after == null ? categoryService.findAll() : categoryService.findPage(after, limit);
+            return new ResponseEntity<>(categoryMapper.toDTOList(categoryList), HttpStatus.OK);
         }catch (Exception e){
             throw new NotFoundException(ExceptionMessage.NOT_FOUND);
         }
     }
 
+    @GetMapping(params = "stream=true")
+    @ApiOperation(httpMethod = "GET",
+            value = "Stream all categories as NDJSON",
+            response = CategoryDTO.class,
+            nickname = "streamAll",
+            produces = NdjsonWriter.MEDIA_TYPE)
+    public void streamAll(HttpServletResponse response) throws SQLException, IOException {
+        response.setContentType(NdjsonWriter.MEDIA_TYPE);
+        try (NdjsonWriter<CategoryDTO> writer = new NdjsonWriter<>(objectMapper, response.getOutputStream())) {
+            categoryService.streamAll(category -> writer.accept(categoryMapper.toDTO(category)));
+        }
+    }
+
     @PutMapping
     @ApiOperation(httpMethod = "PUT",
             value = "Update category",
@@ -159,7 +190,7 @@ public class CategoryController {
     @GetMapping(value = "/{id}/offers")
     @ApiOperation(httpMethod = "GET",
             value = "Find offers belonged to the category (by id)",
-            response = Offer.class,
+            response = OfferDTO.class,
             nickname = "findOfferList",
             responseContainer = "List")
     @ApiResponses(value = {
@@ -167,10 +198,10 @@ public class CategoryController {
             @ApiResponse(code = 404, message = "Offers not found"),
             @ApiResponse(code = 500, message = "Error")
     })
-    public ResponseEntity<List<Offer>> findOfferList(@PathVariable("id") Long id) throws NotFoundException, SQLException {
+    public ResponseEntity<List<OfferDTO>> findOfferList(@PathVariable("id") Long id) throws NotFoundException, SQLException {
         try {
             List<Offer> offerList = categoryService.findOfferList(id);
-            return new ResponseEntity<>(offerList, HttpStatus.OK);
+            return new ResponseEntity<>(offerMapper.toDTOList(offerList), HttpStatus.OK);
         } catch (Exception e) {
             throw new NotFoundException(ExceptionMessage.NOT_FOUND);
         }
@@ -0,0 +1,47 @@
+package com.netcracker.metsko.controller;
+
+import com.netcracker.metsko.entity.ErrorMessage;
+import com.netcracker.metsko.interceptor.EtagInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Puts the ETag that {@link EtagInterceptor} checked on 200 responses with a body, so errors and
+ * not-found answers (some of which are an empty 200 here) are never cached or revalidated.
+ */
+@ControllerAdvice
+public class EtagResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Autowired
+    private EtagInterceptor etagInterceptor;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest) || !(response instanceof ServletServerHttpResponse)
+                || body == null || body instanceof ErrorMessage) {
+            return body;
+        }
+        Object etag = ((ServletServerHttpRequest) request).getServletRequest().getAttribute(EtagInterceptor.ETAG_ATTRIBUTE);
+        if (etag != null && ((ServletServerHttpResponse) response).getServletResponse().getStatus() == HttpStatus.OK.value()) {
+            response.getHeaders().setETag((String) etag);
+            response.getHeaders().setCacheControl(etagInterceptor.cacheControl());
+        }
+        return body;
+    }
+}
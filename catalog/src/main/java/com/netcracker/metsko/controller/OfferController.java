@@ -1,29 +1,42 @@
 package com.netcracker.metsko.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netcracker.metsko.cache.OfferDtoCache;
 import com.netcracker.metsko.entity.Category;
 import com.netcracker.metsko.entity.ExceptionMessage;
 import com.netcracker.metsko.entity.Offer;
 import com.netcracker.metsko.entity.Price;
+import com.netcracker.metsko.entity.dto.ImportResultDTO;
+import com.netcracker.metsko.entity.dto.OfferBatchDTO;
 import com.netcracker.metsko.entity.dto.OfferDTO;
+import com.netcracker.metsko.entity.dto.OfferImportDTO;
 import com.netcracker.metsko.exceptions.NotCreatedException;
 import com.netcracker.metsko.exceptions.NotDeletedException;
 import com.netcracker.metsko.exceptions.NotFoundException;
 import com.netcracker.metsko.exceptions.NotUpdatedException;
+import com.netcracker.metsko.mapper.OfferMapper;
 import com.netcracker.metsko.service.OfferService;
+import com.netcracker.metsko.util.NdjsonWriter;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -35,7 +48,13 @@ public class OfferController {
     OfferService offerService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private OfferMapper offerMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OfferDtoCache offerDtoCache;
 
     @PostMapping
     @ApiOperation(httpMethod = "POST",
@@ -56,6 +75,26 @@ public class OfferController {
         }
     }
 
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, NdjsonWriter.MEDIA_TYPE})
+    @ApiOperation(httpMethod = "POST",
+            value = "Import offers with prices, tags and categories from a JSON array or NDJSON stream",
+            response = ImportResultDTO.class,
+            nickname = "importOffers")
+    @ApiResponses(value = {
+            @ApiResponse(code = 201, message = "Offers imported"),
+            @ApiResponse(code = 207, message = "Some offers imported, the failed rows are listed"),
+            @ApiResponse(code = 400, message = "No offer imported, the failed rows are listed"),
+            @ApiResponse(code = 500, message = "Offers not imported")
+    })
+    public ResponseEntity<ImportResultDTO> importOffers(HttpServletRequest request) throws NotCreatedException, SQLException, IOException {
+        Iterator<OfferImportDTO> offers = objectMapper.readerFor(OfferImportDTO.class).readValues(request.getInputStream());
+        ImportResultDTO result = offerService.importOffers(offers);
+        if (result.getFailed() == 0) {
+            return new ResponseEntity<>(result, HttpStatus.CREATED);
+        }
+        return new ResponseEntity<>(result, result.getImported() == 0 ? HttpStatus.BAD_REQUEST : HttpStatus.MULTI_STATUS);
+    }
+
     @PutMapping
     @ApiOperation(httpMethod = "PUT",
             value = "Update offer",
@@ -122,7 +161,7 @@ public class OfferController {
     @GetMapping(value = "/{id}")
     @ApiOperation(httpMethod = "GET",
             value = "Find offers by id",
-            response = Offer.class,
+            response = OfferDTO.class,
             nickname = "findById"
     )
     @ApiResponses(value = {
@@ -130,16 +169,43 @@ public class OfferController {
             @ApiResponse(code = 404, message = "Offer not found"),
             @ApiResponse(code = 500, message = "Error")
     })
-    public ResponseEntity<OfferDTO> findById(@PathVariable("id") Long id) throws NotFoundException, SQLException {
-        Offer foundOffer = offerService.findById(id);
-        OfferDTO offerDTO = modelMapper.map(foundOffer, OfferDTO.class);
-        return new ResponseEntity<>(offerDTO, HttpStatus.OK);
+    public ResponseEntity<byte[]> findById(@PathVariable("id") Long id) throws NotFoundException, SQLException {
+        byte[] offerDTO = offerDtoCache.get(id, this::loadOfferDTO);
+        if (offerDTO == null) {
+            throw new NotFoundException("The offer" + ExceptionMessage.NOT_FOUND);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .body(offerDTO);
+    }
+
+    @GetMapping(value = "/batch")
+    @ApiOperation(httpMethod = "GET",
+            value = "Find offers by a set of ids",
+            response = OfferBatchDTO.class,
+            nickname = "findByIds"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Offers found, unknown ids listed as missing"),
+            @ApiResponse(code = 404, message = "Offers not found"),
+            @ApiResponse(code = 500, message = "Error")
+    })
+    public ResponseEntity<OfferBatchDTO> findByIds(@RequestParam("ids") Set<Long> ids) throws NotFoundException, SQLException {
+        Map<Long, OfferDTO> found = offerService.findByIds(ids).stream()
+                .map(offerMapper::toDTO)
+                .collect(Collectors.toMap(OfferDTO::getId, offerDTO -> offerDTO));
+        OfferBatchDTO batchDTO = new OfferBatchDTO();
+        batchDTO.setOffers(new ArrayList<>(found.values()));
+        batchDTO.setMissingIds(ids.stream()
+                .filter(id -> !found.containsKey(id))
+                .collect(Collectors.toList()));
+        return new ResponseEntity<>(batchDTO, HttpStatus.OK);
     }
 
     @GetMapping
     @ApiOperation(httpMethod = "GET",
             value = "Find all offers",
-            response = Offer.class,
+            response = OfferDTO.class,
             nickname = "findAll",
             responseContainer = "List")
     @ApiResponses(value = {
@@ -147,15 +213,29 @@ public class OfferController {
             @ApiResponse(code = 404, message = "Offers not found"),
             @ApiResponse(code = 500, message = "Error")
     })
-    public ResponseEntity<List<Offer>> findAll() throws NotFoundException, SQLException {
-        List<Offer> offerList = offerService.findAll();
-        return new ResponseEntity<>(offerList, HttpStatus.OK);
+    public ResponseEntity<List<OfferDTO>> findAll(@RequestParam(value = "after", required = false) Long after,
+                                                  @RequestParam(value = "limit", defaultValue = "100") int limit) throws NotFoundException, SQLException {
+        List<Offer> offerList = after == null ? offerService.findAll() : offerService.findPage(after, limit);
+        return new ResponseEntity<>(offerMapper.toDTOList(offerList), HttpStatus.OK);
+    }
+
+    @GetMapping(params = "stream=true")
+    @ApiOperation(httpMethod = "GET",
+            value = "Stream all offers as NDJSON",
+            response = OfferDTO.class,
+            nickname = "streamAll",
+            produces = NdjsonWriter.MEDIA_TYPE)
+    public void streamAll(HttpServletResponse response) throws SQLException, IOException {
+        response.setContentType(NdjsonWriter.MEDIA_TYPE);
+        try (NdjsonWriter<OfferDTO> writer = new NdjsonWriter<>(objectMapper, response.getOutputStream())) {
+            offerService.streamAll(offer -> writer.accept(offerMapper.toDTO(offer)));
+        }
     }
 
     @GetMapping(value = "/searchbytags")
     @ApiOperation(httpMethod = "GET",
             value = "Find offers by tags",
-            response = Offer.class,
+            response = OfferDTO.class,
             nickname = "findByTags",
             responseContainer = "List")
     @ApiResponses(value = {
@@ -163,15 +243,16 @@ public class OfferController {
             @ApiResponse(code = 404, message = "Offers not found"),
             @ApiResponse(code = 500, message = "Error")
     })
-    public ResponseEntity<List<Offer>> findByTags(@RequestParam String tagList) throws NotFoundException, SQLException {
-        List<Offer> list = offerService.findByTags(tagList);
-        return new ResponseEntity<>(list, HttpStatus.OK);
+    public ResponseEntity<List<OfferDTO>> findByTags(@RequestParam String tagList,
+                                                     @RequestParam(value = "matchAll", defaultValue = "false") boolean matchAll) throws NotFoundException, SQLException {
+        List<Offer> list = offerService.findByTags(tagList, matchAll);
+        return new ResponseEntity<>(offerMapper.toDTOList(list), HttpStatus.OK);
     }
 
     @GetMapping(value = "/availability")
     @ApiOperation(httpMethod = "GET",
             value = "Find (un)available offers",
-            response = Offer.class,
+            response = OfferDTO.class,
             nickname = "findOffersByAvailability",
             responseContainer = "List")
     @ApiResponses(value = {
@@ -179,9 +260,9 @@ public class OfferController {
             @ApiResponse(code = 404, message = "Offers not found"),
             @ApiResponse(code = 500, message = "Error")
     })
-    public ResponseEntity<List<Offer>> findOffersByAvailability(@RequestParam("availability") boolean availability) throws NotFoundException, SQLException {
+    public ResponseEntity<List<OfferDTO>> findOffersByAvailability(@RequestParam("availability") boolean availability) throws NotFoundException, SQLException {
         List<Offer> offerList = offerService.findOffersByAvailability(availability);
-        return new ResponseEntity<>(offerList, HttpStatus.OK);
+        return new ResponseEntity<>(offerMapper.toDTOList(offerList), HttpStatus.OK);
     }
 
     @PutMapping(value = "/{id}/prices")
@@ -226,7 +307,7 @@ public class OfferController {
     @GetMapping(value = "/pricefilters")
     @ApiOperation(httpMethod = "GET",
             value = "Find offers between two prices",
-            response = Offer.class,
+            response = OfferDTO.class,
             nickname = "getOfferByPriceFromTo",
             responseContainer = "List")
     @ApiResponses(value = {
@@ -234,10 +315,10 @@ public class OfferController {
             @ApiResponse(code = 404, message = "Offers not found"),
             @ApiResponse(code = 500, message = "Error")
     })
-    public ResponseEntity<List<Offer>> getOfferByPriceFromTo(@RequestParam("min") double priceFrom, @RequestParam("max") double priceTo) throws NotFoundException, SQLException {
+    public ResponseEntity<List<OfferDTO>> getOfferByPriceFromTo(@RequestParam("min") double priceFrom, @RequestParam("max") double priceTo) throws NotFoundException, SQLException {
         try {
             List<Offer> offerList = offerService.getPriceFromTo(priceFrom, priceTo);
-            return new ResponseEntity<>(offerList, HttpStatus.OK);
+            return new ResponseEntity<>(offerMapper.toDTOList(offerList), HttpStatus.OK);
 
         } catch (Exception e) {
             throw new NotFoundException(ExceptionMessage.NOT_FOUND);
@@ -327,11 +408,18 @@ public class OfferController {
     ResponseEntity<List<OfferDTO>> findFilteredOffers(@RequestBody Map<String, String> offerFilter) throws SQLException, NotFoundException {
         try {
             List<Offer> offers = offerService.findFilteredOffers(offerFilter);
-            List<OfferDTO> offersDTO = offers.stream().map(offer -> modelMapper.map(offer, OfferDTO.class)).collect(Collectors.toList());
+            List<OfferDTO> offersDTO = offerMapper.toDTOList(offers);
             return new ResponseEntity<>(offersDTO, HttpStatus.FOUND);
         } catch (Exception e) {
             throw new NotFoundException(ExceptionMessage.NOT_FOUND);
         }
     }
 
+    private byte[] loadOfferDTO(Long id) {
+        try {
+            return objectMapper.writeValueAsBytes(offerMapper.toDTO(offerService.findById(id)));
+        } catch (Exception | NotFoundException e) {
+            return null;
+        }
+    }
 }
@@ -1,13 +1,19 @@
 package com.netcracker.metsko.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.netcracker.metsko.entity.ExceptionMessage;
 import com.netcracker.metsko.entity.Offer;
 import com.netcracker.metsko.entity.Tag;
+import com.netcracker.metsko.entity.dto.TagDTO;
+import com.netcracker.metsko.entity.dto.OfferDTO;
 import com.netcracker.metsko.exceptions.NotCreatedException;
 import com.netcracker.metsko.exceptions.NotDeletedException;
 import com.netcracker.metsko.exceptions.NotFoundException;
 import com.netcracker.metsko.exceptions.NotUpdatedException;
+import com.netcracker.metsko.mapper.TagMapper;
+import com.netcracker.metsko.mapper.OfferMapper;
 import com.netcracker.metsko.service.TagService;
+import com.netcracker.metsko.util.NdjsonWriter;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
@@ -18,6 +24,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.sql.SQLException;
 import java.util.List;
 
@@ -29,6 +37,15 @@ public class TagController {
     @Autowired
     private TagService tagService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OfferMapper offerMapper;
+
+    @Autowired
+    private TagMapper tagMapper;
+
     public TagController() {
     }
 
@@ -95,7 +112,7 @@ public class TagController {
     @GetMapping
     @ApiOperation(httpMethod = "GET",
             value = "Find all tags",
-            response = Tag.class,
+            response = TagDTO.class,
             nickname = "findAll",
             responseContainer = "List")
     @ApiResponses(value = {
@@ -103,19 +120,33 @@ public class TagController {
             @ApiResponse(code = 404, message = "Tags not found"),
             @ApiResponse(code = 500, message = "Error")
     })
-    public ResponseEntity<List<Tag>> findAll() throws NotFoundException, SQLException {
+    public ResponseEntity<List<TagDTO>> findAll(@RequestParam(value = "after", required = false) Long after,
+                                             @RequestParam(value = "limit", defaultValue = "100") int limit) throws NotFoundException, SQLException {
         try {
-            List<Tag> tagList = tagService.findAll();
-            return new ResponseEntity<>(tagList, HttpStatus.OK);
+            List<Tag> tagList = after == null ? tagService.findAll() : tagService.findPage(after, limit);
+            return new ResponseEntity<>(tagMapper.toDTOList(tagList), HttpStatus.OK);
         }catch (Exception e){
             throw new NotFoundException(ExceptionMessage.NOT_FOUND);
         }
     }
 
+    @GetMapping(params = "stream=true")
+    @ApiOperation(httpMethod = "GET",
+            value = "Stream all tags as NDJSON",
+            response = TagDTO.class,
+            nickname = "streamAll",
+            produces = NdjsonWriter.MEDIA_TYPE)
+    public void streamAll(HttpServletResponse response) throws SQLException, IOException {
+        response.setContentType(NdjsonWriter.MEDIA_TYPE);
+        try (NdjsonWriter<TagDTO> writer = new NdjsonWriter<>(objectMapper, response.getOutputStream())) {
+            tagService.streamAll(tag -> writer.accept(tagMapper.toDTO(tag)));
+        }
+    }
+
     @GetMapping(value = "/{id}/offers")
     @ApiOperation(httpMethod = "GET",
             value = "Find offers belonged to the tag (by id)",
-            response = Offer.class,
+            response = OfferDTO.class,
             nickname = "findOffers",
             responseContainer = "List")
     @ApiResponses(value = {
@@ -123,10 +154,10 @@ public class TagController {
             @ApiResponse(code = 404, message = "Tag not found"),
             @ApiResponse(code = 500, message = "Error")
     })
-    public ResponseEntity<List<Offer>> findOffers(@PathVariable("id") Long id) throws NotFoundException, SQLException {
+    public ResponseEntity<List<OfferDTO>> findOffers(@PathVariable("id") Long id) throws NotFoundException, SQLException {
         try {
             List<Offer> offerList = tagService.findOffers(id);
-            return new ResponseEntity<>(offerList, HttpStatus.OK);
+            return new ResponseEntity<>(offerMapper.toDTOList(offerList), HttpStatus.OK);
         }catch (Exception e){
             throw new NotFoundException(ExceptionMessage.NOT_FOUND);
         }
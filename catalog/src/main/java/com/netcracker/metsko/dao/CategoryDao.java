@@ -1,7 +1,6 @@
 package com.netcracker.metsko.dao;
 
 import com.netcracker.metsko.entity.Category;
-import com.netcracker.metsko.entity.Offer;
 
 import java.sql.SQLException;
 import java.util.List;
@@ -11,6 +10,4 @@ public interface CategoryDao extends GenericDao<Category, Long> {
     List<Category> findAll() throws SQLException;
 
     Category findByName(String categoryName) throws SQLException;
-
-    List<Offer> findOfferList(Long categoryId) throws SQLException;
 }
@@ -1,6 +1,8 @@
 package com.netcracker.metsko.dao;
 
 import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface GenericDao<T, Long> {
 
@@ -12,4 +14,10 @@ public interface GenericDao<T, Long> {
 
     void delete(Long id) throws SQLException;
 
+    List<T> findPage(long afterId, int limit) throws SQLException;
+
+    void scrollAll(Consumer<T> consumer) throws SQLException;
+
+    void flushAndClear() throws SQLException;
+
 }
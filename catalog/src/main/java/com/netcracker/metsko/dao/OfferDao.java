@@ -3,6 +3,7 @@ package com.netcracker.metsko.dao;
 import com.netcracker.metsko.entity.Offer;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 
 public interface OfferDao extends GenericDao<Offer, Long> {
@@ -22,4 +23,15 @@ public interface OfferDao extends GenericDao<Offer, Long> {
 
     List<Offer> findAll() throws SQLException;
 
+    List<Offer> findByIds(Collection<Long> ids) throws SQLException;
+
+    List<Offer> findFiltered(String category, Collection<String> tags, Double priceFrom, Double priceTo,
+                             Boolean availability) throws SQLException;
+
+    List<Offer> findByCategory(Long categoryId) throws SQLException;
+
+    List<Offer> findByTag(Long tagId) throws SQLException;
+
+    List<Object[]> findOfferTags() throws SQLException;
+
 }
@@ -1,18 +1,28 @@
 package com.netcracker.metsko.dao.implementation;
 
 import com.netcracker.metsko.dao.GenericDao;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
 import java.io.Serializable;
 import java.lang.reflect.ParameterizedType;
 import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Consumer;
 
 @Transactional
 public class GenericDaoImpl<T, Long extends Serializable> implements GenericDao<T, Long> {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final int SCROLL_FETCH_SIZE = 500;
+
     @PersistenceContext
     protected EntityManager entityManager;
 
@@ -64,6 +74,51 @@ public class GenericDaoImpl<T, Long extends Serializable> implements GenericDao<
         }
     }
 
+    @Override
+    public List<T> findPage(long afterId, int limit) throws SQLException {
+        return pageQuery(afterId, limit).getResultList();
+    }
+
+    protected TypedQuery<T> pageQuery(long afterId, int limit) {
+        return entityManager.createQuery("select e from " + entityName() + " e where e.id > :afterId order by e.id", tClass)
+                .setParameter("afterId", afterId)
+                .setMaxResults(Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+    }
+
+    @Override
+    public void scrollAll(Consumer<T> consumer) throws SQLException {
+        Session session = entityManager.unwrap(Session.class);
+        ScrollableResults results = session.createQuery(scrollQuery())
+                .setFetchSize(SCROLL_FETCH_SIZE)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY);
+        try {
+            int count = 0;
+            while (results.next()) {
+                consumer.accept(tClass.cast(results.get(0)));
+                if (++count % SCROLL_FETCH_SIZE == 0) {
+                    session.clear();
+                }
+            }
+        } finally {
+            results.close();
+        }
+    }
+
+    protected String scrollQuery() {
+        return "select e from " + entityName() + " e order by e.id";
+    }
+
+    @Override
+    public void flushAndClear() throws SQLException {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private String entityName() {
+        return entityManager.getMetamodel().entity(tClass).getName();
+    }
+
     public void close() {
         entityManager.close();
     }
@@ -2,49 +2,151 @@ package com.netcracker.metsko.dao.implementation;
 
 import com.netcracker.metsko.dao.OfferDao;
 import com.netcracker.metsko.entity.Offer;
+import org.hibernate.jpa.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.TypedQuery;
 import java.sql.SQLException;
-import java.util.List;
+import java.util.*;
 
 @Repository
 public class OfferDaoImpl extends GenericDaoImpl<Offer, Long> implements OfferDao {
 
+    // keeps every "in :ids" list far below PostgreSQL's 32767 bind parameter limit
+    private static final int ID_CHUNK_SIZE = 1000;
+
     public OfferDaoImpl() {
     }
 
     public List<Offer> findAll() throws SQLException {
-        return entityManager.createQuery("select o from Offer o", Offer.class).getResultList();
+        return summary(entityManager.createNamedQuery("Offer.findAll", Offer.class)).getResultList();
+    }
+
+    @Override
+    public List<Offer> findPage(long afterId, int limit) throws SQLException {
+        return summary(pageQuery(afterId, limit)).getResultList();
     }
 
     @Override
     public List<Offer> findByName(String name) throws SQLException {
-        return entityManager.createQuery("from Offer o where o.name='" + name + "'", Offer.class).getResultList();
+        return summary(entityManager.createNamedQuery("Offer.findByName", Offer.class))
+                .setParameter("name", name)
+                .getResultList();
+    }
+
+    @Override
+    protected String scrollQuery() {
+        return "select o from Offer o left join fetch o.price order by o.id";
     }
 
     @Override
     public Offer findById(Long id) throws SQLException {
-        return (Offer) entityManager.createQuery("select o from Offer o where o.id=" + id + "", Offer.class).getSingleResult();
+        return entityManager.createNamedQuery("Offer.findById", Offer.class)
+                .setHint(QueryHints.HINT_FETCHGRAPH, entityManager.getEntityGraph("Offer.detail"))
+                .setParameter("id", id)
+                .getSingleResult();
     }
 
     @Override
     public List<Offer> findOffersByAvailability(boolean availability) throws SQLException {
-        return entityManager.createQuery("select o from Offer  o where o.availability=" + availability, Offer.class).getResultList();
+        return summary(entityManager.createNamedQuery("Offer.findByAvailability", Offer.class))
+                .setParameter("availability", availability)
+                .getResultList();
     }
 
     @Override
     public List<Offer> getPriceFromTo(Double priceFrom, Double priceTo) throws SQLException {
-        return entityManager.createQuery("select o from Offer  o where o.availability="+true+" and o.price between " + priceFrom + " and " + priceTo, Offer.class).getResultList();
+        return summary(entityManager.createNamedQuery("Offer.findByPriceBetween", Offer.class))
+                .setParameter("priceFrom", priceFrom)
+                .setParameter("priceTo", priceTo)
+                .getResultList();
     }
 
     @Override
     public List<Offer> getPriceFrom(Double priceFrom) throws SQLException {
-        return entityManager.createQuery("select o from Offer  o where o.price > " + priceFrom, Offer.class).getResultList();
+        return summary(entityManager.createNamedQuery("Offer.findByPriceFrom", Offer.class))
+                .setParameter("priceFrom", priceFrom)
+                .getResultList();
     }
 
     @Override
     public List<Offer> getPriceTo(Double priceTo) throws SQLException {
-        return entityManager.createQuery("select o from Offer  o where o.price < " + priceTo, Offer.class).getResultList();
+        return summary(entityManager.createNamedQuery("Offer.findByPriceTo", Offer.class))
+                .setParameter("priceTo", priceTo)
+                .getResultList();
+    }
+
+    @Override
+    public List<Offer> findByIds(Collection<Long> ids) throws SQLException {
+        List<Long> idList = new ArrayList<>(ids);
+        List<Offer> offers = new ArrayList<>(idList.size());
+        for (int from = 0; from < idList.size(); from += ID_CHUNK_SIZE) {
+            offers.addAll(summary(entityManager.createNamedQuery("Offer.findByIds", Offer.class))
+                    .setParameter("ids", idList.subList(from, Math.min(from + ID_CHUNK_SIZE, idList.size())))
+                    .getResultList());
+        }
+        return offers;
+    }
+
+    @Override
+    public List<Offer> findFiltered(String category, Collection<String> tags, Double priceFrom, Double priceTo,
+                                    Boolean availability) throws SQLException {
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+        if (category != null) {
+            predicates.add("c.category = :category");
+            parameters.put("category", category);
+        }
+        if (priceFrom != null) {
+            predicates.add("p.price >= :priceFrom");
+            parameters.put("priceFrom", priceFrom);
+        }
+        if (priceTo != null) {
+            predicates.add("p.price <= :priceTo");
+            parameters.put("priceTo", priceTo);
+        }
+        if (availability != null) {
+            predicates.add("o.availability = :availability");
+            parameters.put("availability", availability);
+        }
+        if (tags != null && !tags.isEmpty()) {
+            predicates.add("exists (select t.id from Offer ot join ot.tagList t where ot = o and t.tag in :tags)");
+            parameters.put("tags", tags);
+        }
+
+        StringBuilder jpql = new StringBuilder("select o from Offer o left join fetch o.price p left join o.category c");
+        if (!predicates.isEmpty()) {
+            jpql.append(" where ").append(String.join(" and ", predicates));
+        }
+        TypedQuery<Offer> query = entityManager.createQuery(jpql.toString(), Offer.class);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    @Override
+    public List<Offer> findByCategory(Long categoryId) throws SQLException {
+        return summary(entityManager.createNamedQuery("Offer.findByCategory", Offer.class))
+                .setParameter("categoryId", categoryId)
+                .getResultList();
+    }
+
+    @Override
+    public List<Offer> findByTag(Long tagId) throws SQLException {
+        return summary(entityManager.createNamedQuery("Offer.findByTag", Offer.class))
+                .setParameter("tagId", tagId)
+                .getResultList();
+    }
+
+    @Override
+    public List<Object[]> findOfferTags() throws SQLException {
+        return entityManager.createNamedQuery("Offer.findOfferTags", Object[].class).getResultList();
+    }
+
+    /**
+     * Fetches only the price alongside each offer, which is all a list view shows.
+     */
+    private TypedQuery<Offer> summary(TypedQuery<Offer> query) {
+        return query.setHint(QueryHints.HINT_FETCHGRAPH, entityManager.getEntityGraph("Offer.summary"));
     }
 
 }
@@ -15,7 +15,7 @@ public class PriceDaoImpl extends GenericDaoImpl<Price, Long> implements PriceDa
     }
 
     public List<Price> findAll() throws SQLException {
-        return entityManager.createQuery(" FROM Price p").getResultList();
+        return entityManager.createNamedQuery("Price.findAll", Price.class).getResultList();
     }
 
 }
@@ -15,12 +15,14 @@ public class TagDaoImpl extends GenericDaoImpl<Tag, Long> implements TagDao {
 
     @Override
     public List<Tag> findAll() throws SQLException {
-        return entityManager.createQuery(" select  t from Tag t").getResultList();
+        return entityManager.createNamedQuery("Tag.findAll", Tag.class).getResultList();
     }
 
     @Override
     public Tag findByName(String tagName) throws SQLException {
-        return entityManager.createQuery("select t from Tag t where t.tag='" + tagName + "'", Tag.class).getSingleResult();
+        return entityManager.createNamedQuery("Tag.findByName", Tag.class)
+                .setParameter("tag", tagName)
+                .getSingleResult();
     }
 
 
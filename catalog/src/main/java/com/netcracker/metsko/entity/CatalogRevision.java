@@ -0,0 +1,32 @@
+package com.netcracker.metsko.entity;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * The single row of the catalog_version table. {@link com.netcracker.metsko.cache.CatalogVersion}
+ * reads and bumps it with plain SQL; the mapping keeps the table in generated schemas.
+ */
+@Entity
+@Table(name = "catalog_version")
+public class CatalogRevision {
+
+    @Id
+    private int id;
+
+    @Column(nullable = false)
+    private long version;
+
+    public CatalogRevision() {
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
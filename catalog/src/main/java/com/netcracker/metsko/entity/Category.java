@@ -1,17 +1,34 @@
 package com.netcracker.metsko.entity;
 
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.util.List;
-import java.util.Objects;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NamedQueries({
+        @NamedQuery(name = "Category.findAll", query = "select c from Category c"),
+        @NamedQuery(name = "Category.findByName", query = "select c from Category c where c.category = :category"),
+        @NamedQuery(name = "Category.findById", query = "select c from Category c where c.id = :id")
+})
 public class Category {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "category_seq")
+    @GenericGenerator(name = "category_seq", strategy = "com.netcracker.metsko.util.PooledSequenceGenerator",
+            parameters = {
+                    @Parameter(name = "sequence_name", value = "category_seq"),
+                    @Parameter(name = "increment_size", value = "10")
+            })
     private long id;
 
     @Column(unique = true)
@@ -19,7 +36,8 @@ public class Category {
     @Size(min = 3, max = 20)
     private String category;
 
-    @OneToMany
+    @OneToMany(mappedBy = "category")
+    @BatchSize(size = 50)
     private List<Offer> offerList;
 
     public Category() {
@@ -69,14 +87,12 @@ public class Category {
         if (this == object) return true;
         if (!(object instanceof Category)) return false;
         Category category1 = (Category) object;
-        return id == category1.id &&
-                Objects.equals(category, category1.category) &&
-                Objects.equals(offerList, category1.offerList);
+        return getId() != 0 && getId() == category1.getId();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, category, offerList);
+        return Long.hashCode(getId());
     }
 
     @Override
@@ -84,7 +100,6 @@ public class Category {
         final StringBuilder sb = new StringBuilder("Category{");
         sb.append("id=").append(id);
         sb.append(", category='").append(category).append('\'');
-        sb.append(", offerList=").append(offerList);
         sb.append('}');
         return sb.toString();
     }
@@ -3,18 +3,47 @@ package com.netcracker.metsko.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.util.List;
-import java.util.Objects;
 
 @Entity
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = "Offer.summary", attributeNodes = @NamedAttributeNode("price")),
+        @NamedEntityGraph(name = "Offer.detail", attributeNodes = {
+                @NamedAttributeNode("price"),
+                @NamedAttributeNode("tagList"),
+                @NamedAttributeNode("category")
+        })
+})
+@NamedQueries({
+        @NamedQuery(name = "Offer.findAll", query = "select o from Offer o"),
+        @NamedQuery(name = "Offer.findByName", query = "select o from Offer o where o.name = :name"),
+        @NamedQuery(name = "Offer.findById", query = "select o from Offer o where o.id = :id"),
+        @NamedQuery(name = "Offer.findByIds", query = "select o from Offer o where o.id in :ids"),
+        @NamedQuery(name = "Offer.findByCategory", query = "select o from Offer o where o.category.id = :categoryId"),
+        @NamedQuery(name = "Offer.findByTag", query = "select o from Offer o join o.tagList t where t.id = :tagId"),
+        @NamedQuery(name = "Offer.findByAvailability", query = "select o from Offer o where o.availability = :availability"),
+        @NamedQuery(name = "Offer.findByPriceBetween",
+                query = "select o from Offer o where o.availability = true and o.price.price between :priceFrom and :priceTo"),
+        @NamedQuery(name = "Offer.findByPriceFrom", query = "select o from Offer o where o.price.price > :priceFrom"),
+        @NamedQuery(name = "Offer.findByPriceTo", query = "select o from Offer o where o.price.price < :priceTo"),
+        @NamedQuery(name = "Offer.findOfferTags", query = "select o.id, t.tag from Offer o join o.tagList t")
+})
 public class Offer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "offer_seq")
+    @GenericGenerator(name = "offer_seq", strategy = "com.netcracker.metsko.util.PooledSequenceGenerator",
+            parameters = {
+                    @Parameter(name = "sequence_name", value = "offer_seq"),
+                    @Parameter(name = "increment_size", value = "100")
+            })
     private long id;
 
     @Column(unique = true)
@@ -29,17 +58,21 @@ public class Offer {
     @Column
     private boolean availability;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     private Price price;
 
     @ManyToMany
+    @JoinTable(name = "offer_tag_list",
+            joinColumns = @JoinColumn(name = "offer_id"),
+            inverseJoinColumns = @JoinColumn(name = "tag_list_id"))
+    @BatchSize(size = 50)
     private List<Tag> tagList;
 
     @Column
     @JsonIgnore
     private String tags;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonBackReference
     private Category category;
 
@@ -143,19 +176,12 @@ public class Offer {
         if (this == object) return true;
         if (!(object instanceof Offer)) return false;
         Offer offer = (Offer) object;
-        return getId() == offer.getId() &&
-                isAvailability() == offer.isAvailability() &&
-                Objects.equals(getName(), offer.getName()) &&
-                Objects.equals(getDescription(), offer.getDescription()) &&
-                Objects.equals(getPrice(), offer.getPrice()) &&
-                Objects.equals(getTagList(), offer.getTagList()) &&
-                Objects.equals(getTags(), offer.getTags()) &&
-                Objects.equals(getCategory(), offer.getCategory());
+        return getId() != 0 && getId() == offer.getId();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getId(), getName(), getDescription(), isAvailability(), getPrice(), getTagList(), getTags(), getCategory());
+        return Long.hashCode(getId());
     }
 
     @Override
@@ -165,10 +191,7 @@ public class Offer {
         sb.append(", name='").append(name).append('\'');
         sb.append(", description='").append(description).append('\'');
         sb.append(", availability=").append(availability);
-        sb.append(", price=").append(price);
-        sb.append(", tagList=").append(tagList);
         sb.append(", tags='").append(tags).append('\'');
-        sb.append(", category=").append(category);
         sb.append('}');
         return sb.toString();
     }
@@ -2,15 +2,31 @@ package com.netcracker.metsko.entity;
 
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import java.util.Objects;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@BatchSize(size = 50)
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@NamedQuery(name = "Price.findAll", query = "select p from Price p")
 public class Price {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "price_seq")
+    @GenericGenerator(name = "price_seq", strategy = "com.netcracker.metsko.util.PooledSequenceGenerator",
+            parameters = {
+                    @Parameter(name = "sequence_name", value = "price_seq"),
+                    @Parameter(name = "increment_size", value = "100")
+            })
     private long id;
 
     @Column
@@ -19,7 +35,7 @@ public class Price {
     @Column
     private String currency;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JsonBackReference
     private Offer offer;
 
@@ -71,13 +87,12 @@ public class Price {
         Price price1 = (Price) object;
         return getId() == price1.getId() &&
                 Double.compare(price1.getPrice(), getPrice()) == 0 &&
-                Objects.equals(getCurrency(), price1.getCurrency()) &&
-                Objects.equals(getOffer(), price1.getOffer());
+                Objects.equals(getCurrency(), price1.getCurrency());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getId(), getPrice(), getCurrency(), getOffer());
+        return Objects.hash(getId(), getPrice(), getCurrency());
     }
 
     @Override
@@ -86,7 +101,6 @@ public class Price {
         sb.append("id=").append(id);
         sb.append(", price=").append(price);
         sb.append(", currency='").append(currency).append('\'');
-        sb.append(", offer=").append(offer);
         sb.append('}');
         return sb.toString();
     }
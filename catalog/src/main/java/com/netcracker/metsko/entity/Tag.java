@@ -1,18 +1,33 @@
 package com.netcracker.metsko.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.util.List;
-import java.util.Objects;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NamedQueries({
+        @NamedQuery(name = "Tag.findAll", query = "select t from Tag t"),
+        @NamedQuery(name = "Tag.findByName", query = "select t from Tag t where t.tag = :tag")
+})
 public class Tag {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "tag_seq")
+    @GenericGenerator(name = "tag_seq", strategy = "com.netcracker.metsko.util.PooledSequenceGenerator",
+            parameters = {
+                    @Parameter(name = "sequence_name", value = "tag_seq"),
+                    @Parameter(name = "increment_size", value = "20")
+            })
     private long id;
 
     @Column(unique = true)
@@ -20,7 +35,8 @@ public class Tag {
     @Size(min = 3, max = 20)
     private String tag;
 
-    @ManyToMany
+    @ManyToMany(mappedBy = "tagList")
+    @BatchSize(size = 50)
     @JsonBackReference
     private List<Offer> offerList;
 
@@ -71,14 +87,12 @@ public class Tag {
         if (this == object) return true;
         if (!(object instanceof Tag)) return false;
         Tag tag1 = (Tag) object;
-        return getId() == tag1.getId() &&
-                Objects.equals(getTag(), tag1.getTag()) &&
-                Objects.equals(getOfferList(), tag1.getOfferList());
+        return getId() != 0 && getId() == tag1.getId();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getId(), getTag(), getOfferList());
+        return Long.hashCode(getId());
     }
 
     @Override
@@ -86,7 +100,6 @@ public class Tag {
         final StringBuilder sb = new StringBuilder("Tag{");
         sb.append("id=").append(id);
         sb.append(", tag='").append(tag).append('\'');
-        sb.append(", offerList=").append(offerList);
         sb.append('}');
         return sb.toString();
     }
@@ -1,6 +1,7 @@
 package com.netcracker.metsko.entity.dto;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import lombok.ToString;
 
@@ -9,8 +10,11 @@ import java.util.List;
 @Data
 @ToString
 @JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class CategoryDTO {
 
+    private Long id;
+
     private String category;
 
     private List<OfferDTO> dtoList;
@@ -0,0 +1,20 @@
+package com.netcracker.metsko.entity.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportErrorDTO {
+
+    private long row;
+
+    private String name;
+
+    private String message;
+}
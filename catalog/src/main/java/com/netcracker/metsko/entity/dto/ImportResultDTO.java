@@ -0,0 +1,19 @@
+package com.netcracker.metsko.entity.dto;
+
+
+import lombok.Data;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ToString
+public class ImportResultDTO {
+
+    private long imported;
+
+    private long failed;
+
+    private List<ImportErrorDTO> errors = new ArrayList<>();
+}
@@ -0,0 +1,16 @@
+package com.netcracker.metsko.entity.dto;
+
+
+import lombok.Data;
+import lombok.ToString;
+
+import java.util.List;
+
+@Data
+@ToString
+public class OfferBatchDTO {
+
+    private List<OfferDTO> offers;
+
+    private List<Long> missingIds;
+}
@@ -0,0 +1,28 @@
+package com.netcracker.metsko.entity.dto;
+
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+import lombok.ToString;
+
+import java.util.List;
+
+@Data
+@ToString
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class OfferImportDTO {
+
+    private String name;
+
+    private String description;
+
+    private boolean availability;
+
+    private Double price;
+
+    private String currency;
+
+    private String category;
+
+    private List<String> tags;
+}
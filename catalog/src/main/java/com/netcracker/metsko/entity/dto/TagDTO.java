@@ -7,5 +7,7 @@ import lombok.ToString;
 @ToString
 public class TagDTO {
 
+    private Long id;
+
     private String tag;
 }
@@ -0,0 +1,163 @@
+package com.netcracker.metsko.index;
+
+import com.netcracker.metsko.dao.OfferDao;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index tag -> compressed bitmap of offer ids. Roaring keeps
+ * sparse tags small and takes the full long id range.
+ */
+@Component
+public class OfferTagIndex {
+
+    @Autowired
+    private OfferDao offerDao;
+
+    private final Map<String, Roaring64NavigableMap> offersByTag = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public OfferTagIndex() {
+    }
+
+    @PostConstruct
+    public void rebuild() throws SQLException {
+        List<Object[]> offerTags = offerDao.findOfferTags();
+        lock.writeLock().lock();
+        try {
+            offersByTag.clear();
+            for (Object[] offerTag : offerTags) {
+                bitsOf((String) offerTag[1]).addLong((Long) offerTag[0]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addTag(String tag, long offerId) {
+        lock.writeLock().lock();
+        try {
+            bitsOf(tag).addLong(offerId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeTag(String tag, long offerId) {
+        lock.writeLock().lock();
+        try {
+            Roaring64NavigableMap offers = offersByTag.get(tag);
+            if (offers != null) {
+                offers.removeLong(offerId);
+                if (offers.isEmpty()) {
+                    offersByTag.remove(tag);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeOffer(long offerId) {
+        replaceTags(offerId, Collections.emptyList());
+    }
+
+    public void replaceTags(long offerId, Collection<String> tags) {
+        lock.writeLock().lock();
+        try {
+            Iterator<Roaring64NavigableMap> iterator = offersByTag.values().iterator();
+            while (iterator.hasNext()) {
+                Roaring64NavigableMap offers = iterator.next();
+                offers.removeLong(offerId);
+                if (offers.isEmpty()) {
+                    iterator.remove();
+                }
+            }
+            for (String tag : tags) {
+                bitsOf(tag).addLong(offerId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void renameTag(String oldTag, String newTag) {
+        lock.writeLock().lock();
+        try {
+            Roaring64NavigableMap offers = offersByTag.remove(oldTag);
+            if (offers != null) {
+                bitsOf(newTag).or(offers);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void deleteTag(String tag) {
+        lock.writeLock().lock();
+        try {
+            offersByTag.remove(tag);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> findAny(Collection<String> tags) {
+        Roaring64NavigableMap result = new Roaring64NavigableMap();
+        lock.readLock().lock();
+        try {
+            for (String tag : tags) {
+                Roaring64NavigableMap offers = offersByTag.get(tag);
+                if (offers != null) {
+                    result.or(offers);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return toIds(result);
+    }
+
+    public List<Long> findAll(Collection<String> tags) {
+        if (tags.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Roaring64NavigableMap result = null;
+        lock.readLock().lock();
+        try {
+            for (String tag : tags) {
+                Roaring64NavigableMap offers = offersByTag.get(tag);
+                if (offers == null) {
+                    return Collections.emptyList();
+                }
+                if (result == null) {
+                    result = new Roaring64NavigableMap();
+                    result.or(offers);
+                } else {
+                    result.and(offers);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return toIds(result);
+    }
+
+    private Roaring64NavigableMap bitsOf(String tag) {
+        return offersByTag.computeIfAbsent(tag, key -> new Roaring64NavigableMap());
+    }
+
+    private static List<Long> toIds(Roaring64NavigableMap offers) {
+        List<Long> ids = new ArrayList<>(offers.getIntCardinality());
+        offers.forEach(ids::add);
+        return ids;
+    }
+}
@@ -0,0 +1,69 @@
+package com.netcracker.metsko.interceptor;
+
+import com.netcracker.metsko.cache.CatalogVersion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers catalog reads with 304 when the client's ETag still matches the catalog version,
+ * before the controller touches the database. Otherwise the tag is left on the request for
+ * {@link com.netcracker.metsko.controller.EtagResponseAdvice}, which only puts it on successful bodies.
+ */
+@Component
+public class EtagInterceptor extends HandlerInterceptorAdapter {
+
+    public static final String ETAG_ATTRIBUTE = EtagInterceptor.class.getName() + ".etag";
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Value("${http-cache.max-age:0}")
+    private long maxAge;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        // void handlers write their own response, like the NDJSON streams, and are never tagged
+        if (!HttpMethod.GET.matches(request.getMethod()) || !(handler instanceof HandlerMethod) || ((HandlerMethod) handler).isVoid()) {
+            return true;
+        }
+        String etag = catalogVersion.etag();
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl());
+            return false;
+        }
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        return true;
+    }
+
+    public String cacheControl() {
+        return CacheControl.maxAge(maxAge, TimeUnit.SECONDS).mustRevalidate().getHeaderValue();
+    }
+
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
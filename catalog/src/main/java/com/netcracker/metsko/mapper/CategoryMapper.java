@@ -0,0 +1,30 @@
+package com.netcracker.metsko.mapper;
+
+import com.netcracker.metsko.entity.Category;
+import com.netcracker.metsko.entity.dto.CategoryDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copies categories into CategoryDTOs without touching their offer lists.
+ */
+@Component
+public class CategoryMapper {
+
+    public CategoryDTO toDTO(Category category) {
+        CategoryDTO categoryDTO = new CategoryDTO();
+        categoryDTO.setId(category.getId());
+        categoryDTO.setCategory(category.getCategory());
+        return categoryDTO;
+    }
+
+    public List<CategoryDTO> toDTOList(List<Category> categories) {
+        List<CategoryDTO> categoryDTOList = new ArrayList<>(categories.size());
+        for (Category category : categories) {
+            categoryDTOList.add(toDTO(category));
+        }
+        return categoryDTOList;
+    }
+}
@@ -0,0 +1,34 @@
+package com.netcracker.metsko.mapper;
+
+import com.netcracker.metsko.entity.Offer;
+import com.netcracker.metsko.entity.dto.OfferDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copies offers into OfferDTOs field by field.
+ */
+@Component
+public class OfferMapper {
+
+    public OfferDTO toDTO(Offer offer) {
+        OfferDTO offerDTO = new OfferDTO();
+        offerDTO.setId(offer.getId());
+        offerDTO.setName(offer.getName());
+        offerDTO.setDescription(offer.getDescription());
+        if (offer.getPrice() != null) {
+            offerDTO.setPrice(offer.getPrice().getPrice());
+        }
+        return offerDTO;
+    }
+
+    public List<OfferDTO> toDTOList(List<Offer> offers) {
+        List<OfferDTO> offerDTOList = new ArrayList<>(offers.size());
+        for (Offer offer : offers) {
+            offerDTOList.add(toDTO(offer));
+        }
+        return offerDTOList;
+    }
+}
@@ -0,0 +1,30 @@
+package com.netcracker.metsko.mapper;
+
+import com.netcracker.metsko.entity.Tag;
+import com.netcracker.metsko.entity.dto.TagDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copies tags into TagDTOs without touching their offer lists.
+ */
+@Component
+public class TagMapper {
+
+    public TagDTO toDTO(Tag tag) {
+        TagDTO tagDTO = new TagDTO();
+        tagDTO.setId(tag.getId());
+        tagDTO.setTag(tag.getTag());
+        return tagDTO;
+    }
+
+    public List<TagDTO> toDTOList(List<Tag> tags) {
+        List<TagDTO> tagDTOList = new ArrayList<>(tags.size());
+        for (Tag tag : tags) {
+            tagDTOList.add(toDTO(tag));
+        }
+        return tagDTOList;
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.stereotype.Service;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 public interface CategoryService {
@@ -22,6 +23,10 @@ public interface CategoryService {
 
     List<Category> findAll() throws SQLException, NotFoundException;
 
+    List<Category> findPage(long afterId, int limit) throws SQLException, NotFoundException;
+
+    void streamAll(Consumer<Category> consumer) throws SQLException;
+
     Category updateCategory(Category category) throws SQLException, NotUpdatedException;
 
     String deleteCategory(Long categoryId) throws SQLException, NotDeletedException;
@@ -2,6 +2,8 @@ package com.netcracker.metsko.service;
 
 import com.netcracker.metsko.entity.Offer;
 import com.netcracker.metsko.entity.Price;
+import com.netcracker.metsko.entity.dto.ImportResultDTO;
+import com.netcracker.metsko.entity.dto.OfferImportDTO;
 import com.netcracker.metsko.exceptions.NotCreatedException;
 import com.netcracker.metsko.exceptions.NotDeletedException;
 import com.netcracker.metsko.exceptions.NotFoundException;
@@ -9,8 +11,11 @@ import com.netcracker.metsko.exceptions.NotUpdatedException;
 import org.springframework.stereotype.Service;
 
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 
 @Service
@@ -26,9 +31,15 @@ public interface OfferService {
 
     Offer findById(Long id) throws SQLException, NotFoundException;
 
+    List<Offer> findByIds(Collection<Long> ids) throws SQLException, NotFoundException;
+
     List<Offer> findAll() throws SQLException, NotFoundException;
 
-    List<Offer> findByTags(String tagList) throws SQLException, NotFoundException;
+    List<Offer> findPage(long afterId, int limit) throws SQLException, NotFoundException;
+
+    void streamAll(Consumer<Offer> consumer) throws SQLException;
+
+    List<Offer> findByTags(String tagList, boolean matchAll) throws SQLException, NotFoundException;
 
     List<Offer> findOffersByAvailability(boolean availability) throws SQLException, NotFoundException;
 
@@ -47,4 +58,6 @@ public interface OfferService {
     void removeCategory(Long offerId) throws SQLException, NotUpdatedException;
 
     List<Offer> findFilteredOffers(Map<String, String> filter) throws SQLException, NotFoundException;
+
+    ImportResultDTO importOffers(Iterator<OfferImportDTO> offers) throws SQLException, NotCreatedException;
 }
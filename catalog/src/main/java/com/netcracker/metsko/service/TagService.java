@@ -10,6 +10,7 @@ import org.springframework.stereotype.Service;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 public interface TagService {
@@ -22,6 +23,10 @@ public interface TagService {
 
     List<Tag> findAll() throws SQLException, NotFoundException;
 
+    List<Tag> findPage(long afterId, int limit) throws SQLException, NotFoundException;
+
+    void streamAll(Consumer<Tag> consumer) throws SQLException;
+
     List<Offer> findOffers(Long tagId) throws SQLException, NotFoundException;
 
     Tag updateTag(Tag tag) throws SQLException, NotUpdatedException;
@@ -1,6 +1,7 @@
 package com.netcracker.metsko.service.implementation;
 
 import com.netcracker.metsko.dao.CategoryDao;
+import com.netcracker.metsko.dao.OfferDao;
 import com.netcracker.metsko.entity.Category;
 import com.netcracker.metsko.entity.ExceptionMessage;
 import com.netcracker.metsko.entity.Offer;
@@ -15,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 public class CategoryServiceImpl implements CategoryService {
@@ -22,6 +24,9 @@ public class CategoryServiceImpl implements CategoryService {
     @Autowired
     private CategoryDao categoryDao;
 
+    @Autowired
+    private OfferDao offerDao;
+
     @Transactional
     public void createCategory(Category category) throws NotCreatedException, SQLException {
         try {
@@ -59,6 +64,20 @@ public class CategoryServiceImpl implements CategoryService {
         }
     }
 
+    @Override
+    public List<Category> findPage(long afterId, int limit) throws SQLException, NotFoundException {
+        try {
+            return categoryDao.findPage(afterId, limit);
+        } catch (Exception e) {
+            throw new NotFoundException("Categories " + ExceptionMessage.NOT_FOUND);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<Category> consumer) throws SQLException {
+        categoryDao.scrollAll(consumer);
+    }
+
     @Transactional
     public Category updateCategory(Category category) throws SQLException, NotUpdatedException {
         try {
@@ -86,8 +105,10 @@ public class CategoryServiceImpl implements CategoryService {
     @Override
     public List<Offer> findOfferList(Long id) throws SQLException, NotFoundException {
         try {
-            List<Offer> offerList = categoryDao.findOfferList(id);
-            return offerList;
+            if (categoryDao.read(id) == null) {
+                throw new NotFoundException("This category" + ExceptionMessage.NOT_FOUND);
+            }
+            return offerDao.findByCategory(id);
         } catch (Exception e) {
             throw new NotFoundException("Offers " + ExceptionMessage.NOT_FOUND);
         }
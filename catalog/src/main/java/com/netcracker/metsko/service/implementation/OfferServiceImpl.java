@@ -1,28 +1,49 @@
 package com.netcracker.metsko.service.implementation;
 
+import com.netcracker.metsko.cache.OfferDtoCache;
 import com.netcracker.metsko.dao.CategoryDao;
 import com.netcracker.metsko.dao.OfferDao;
 import com.netcracker.metsko.dao.PriceDao;
 import com.netcracker.metsko.dao.TagDao;
 import com.netcracker.metsko.entity.*;
+import com.netcracker.metsko.entity.dto.ImportErrorDTO;
+import com.netcracker.metsko.entity.dto.ImportResultDTO;
+import com.netcracker.metsko.entity.dto.OfferImportDTO;
 import com.netcracker.metsko.exceptions.NotCreatedException;
 import com.netcracker.metsko.exceptions.NotDeletedException;
 import com.netcracker.metsko.exceptions.NotFoundException;
 import com.netcracker.metsko.exceptions.NotUpdatedException;
+import com.netcracker.metsko.index.OfferTagIndex;
 import com.netcracker.metsko.service.OfferService;
+import com.netcracker.metsko.util.TransactionHooks;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManagerFactory;
 import javax.transaction.Transactional;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 
 @Service
 public class OfferServiceImpl implements OfferService {
 
+    private static final int IMPORT_CHUNK_SIZE = 1000;
+
+    private static final int MAX_REPORTED_IMPORT_ERRORS = 100;
+
     @Autowired
     private OfferDao offerDao;
 
@@ -35,11 +56,30 @@ public class OfferServiceImpl implements OfferService {
     @Autowired
     private TagDao tagDao;
 
+    @Autowired
+    private OfferTagIndex offerTagIndex;
+
+    @Autowired
+    private OfferDtoCache offerDtoCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
 
     @Transactional
     public void createOffer(Offer offer) throws NotCreatedException, SQLException {
         try {
             offerDao.create(offer);
+            if (offer.getTagList() != null) {
+                for (Tag tag : offer.getTagList()) {
+                    if (tag.getTag() != null) {
+                        TransactionHooks.afterCommit(() -> offerTagIndex.addTag(tag.getTag(), offer.getId()));
+                    }
+                }
+            }
         } catch (Exception e) {
             throw new NotCreatedException("The offer" + ExceptionMessage.NOT_CREATED + " " + ExceptionMessage.NOT_NULL_ENTITY);
         }
@@ -50,6 +90,14 @@ public class OfferServiceImpl implements OfferService {
         try {
             Offer updatedOffer = (Offer) offerDao.update(offer);
             if (updatedOffer != null) {
+                List<String> tags = new ArrayList<>();
+                if (updatedOffer.getTagList() != null) {
+                    for (Tag tag : updatedOffer.getTagList()) {
+                        tags.add(tag.getTag());
+                    }
+                }
+                TransactionHooks.afterCommit(() -> offerDtoCache.invalidate(updatedOffer.getId()));
+                TransactionHooks.afterCommit(() -> offerTagIndex.replaceTags(updatedOffer.getId(), tags));
                 return updatedOffer;
             } else {
                 throw new NotUpdatedException("The offer" + ExceptionMessage.NOT_UPDATED);
@@ -63,6 +111,8 @@ public class OfferServiceImpl implements OfferService {
     public void deleteOffer(Long offerId) throws NotDeletedException, SQLException {
         try {
             offerDao.delete(offerId);
+            TransactionHooks.afterCommit(() -> offerDtoCache.invalidate(offerId));
+            TransactionHooks.afterCommit(() -> offerTagIndex.removeOffer(offerId));
         } catch (Exception e) {
             throw new NotDeletedException("The offer" + ExceptionMessage.NOT_DELETED);
         }
@@ -76,6 +126,7 @@ public class OfferServiceImpl implements OfferService {
             if (offer != null) {
                 offer.setAvailability(availability);
                 offerDao.update(offer);
+                TransactionHooks.afterCommit(() -> offerDtoCache.invalidate(id));
             } else {
                 throw new NotUpdatedException("The offer" + ExceptionMessage.NOT_UPDATED);
             }
@@ -98,6 +149,15 @@ public class OfferServiceImpl implements OfferService {
         }
     }
 
+    @Transactional
+    public List<Offer> findByIds(Collection<Long> ids) throws NotFoundException, SQLException {
+        try {
+            return offerDao.findByIds(ids);
+        } catch (Exception e) {
+            throw new NotFoundException("The offers" + ExceptionMessage.NOT_FOUND);
+        }
+    }
+
     @Transactional
     public List<Offer> findAll() throws NotFoundException, SQLException {
         try {
@@ -109,10 +169,25 @@ public class OfferServiceImpl implements OfferService {
     }
 
     @Transactional
-    public List<Offer> findByTags(String tagList) throws NotFoundException, SQLException {
+    public List<Offer> findPage(long afterId, int limit) throws NotFoundException, SQLException {
         try {
-            List<Offer> offerList = offerDao.findAll().stream().filter(offer -> checkTags(offer.getTags(), tagList)).collect(Collectors.toList());
-            return offerList;
+            return offerDao.findPage(afterId, limit);
+        } catch (Exception e) {
+            throw new NotFoundException("The offer" + ExceptionMessage.NOT_FOUND);
+        }
+    }
+
+    @Transactional
+    public void streamAll(Consumer<Offer> consumer) throws SQLException {
+        offerDao.scrollAll(consumer);
+    }
+
+    @Transactional
+    public List<Offer> findByTags(String tagList, boolean matchAll) throws NotFoundException, SQLException {
+        try {
+            List<String> tags = Arrays.asList(tagList.trim().split("\\s+"));
+            List<Long> offerIds = matchAll ? offerTagIndex.findAll(tags) : offerTagIndex.findAny(tags);
+            return offerDao.findByIds(offerIds);
         } catch (Exception e) {
             throw new NotFoundException("The offers" + ExceptionMessage.NOT_FOUND);
         }
@@ -139,6 +214,7 @@ public class OfferServiceImpl implements OfferService {
                 offer.setPrice(price);
                 offerDao.update(offer);
                 priceDao.update(price);
+                TransactionHooks.afterCommit(() -> offerDtoCache.invalidate(offerId));
             } else {
                 throw new NotUpdatedException("The offer's price" + ExceptionMessage.NOT_UPDATED);
             }
@@ -154,6 +230,7 @@ public class OfferServiceImpl implements OfferService {
             offer.getPrice().setPrice(price);
             Offer updated = (Offer) offerDao.update(offer);
             priceDao.update(updated.getPrice());
+            TransactionHooks.afterCommit(() -> offerDtoCache.invalidate(offerId));
         } catch (Exception e) {
             throw new NotUpdatedException("The offer's price" + ExceptionMessage.NOT_UPDATED);
         }
@@ -197,6 +274,8 @@ public class OfferServiceImpl implements OfferService {
             offer.addTag(tag);
             offerDao.update(offer);
             tagDao.update(tag);
+            TransactionHooks.afterCommit(() -> offerDtoCache.invalidate(id));
+            TransactionHooks.afterCommit(() -> offerTagIndex.addTag(tag.getTag(), offer.getId()));
         } catch (Exception e) {
             throw new NotUpdatedException("The tag" + ExceptionMessage.NOT_ADDED);
         }
@@ -211,6 +290,8 @@ public class OfferServiceImpl implements OfferService {
                 offer.removeTag(tag);
                 tagDao.update(tag);
                 offerDao.update(offer);
+                TransactionHooks.afterCommit(() -> offerDtoCache.invalidate(offerId));
+                TransactionHooks.afterCommit(() -> offerTagIndex.removeTag(tag.getTag(), offer.getId()));
             } else {
                 throw new NotUpdatedException("The offer" + ExceptionMessage.NOT_UPDATED);
             }
@@ -228,6 +309,7 @@ public class OfferServiceImpl implements OfferService {
                 category.addOffer(offer);
                 categoryDao.update(category);
                 offerDao.update(offer);
+                TransactionHooks.afterCommit(() -> offerDtoCache.invalidate(offerId));
             } else {
                 throw new NotUpdatedException("The category " + ExceptionMessage.NOT_ADDED);
             }
@@ -246,6 +328,7 @@ public class OfferServiceImpl implements OfferService {
                 offer.setCategory(null);
                 offerDao.update(offer);
                 categoryDao.update(category);
+                TransactionHooks.afterCommit(() -> offerDtoCache.invalidate(idOffer));
             } else {
                 throw new NotUpdatedException("The category " + ExceptionMessage.NOT_DELETED);
             }
@@ -254,31 +337,164 @@ public class OfferServiceImpl implements OfferService {
         }
     }
 
-    @Override
+    @Transactional
     public List<Offer> findFilteredOffers(Map<String, String> filter) throws SQLException, NotFoundException {
         try {
-            List<Offer> offerAllList = getPriceFromTo(Double.valueOf(filter.get("min")), Double.valueOf(filter.get("max")));
-            List<Offer> offerList = offerAllList.stream().filter(offer -> (offer.getCategory().getCategory().equals(filter.get("category"))
-                    && checkTags(offer.getTags(), filter.get("tagList")))).collect(Collectors.toList());
-            return offerList;
+            String tagList = filter.get("tagList");
+            List<String> tags = (tagList == null || tagList.trim().isEmpty())
+                    ? Collections.emptyList()
+                    : Arrays.asList(tagList.trim().split("\\s+"));
+            String availability = filter.get("availability");
+            return offerDao.findFiltered(filter.get("category"), tags,
+                    toPriceBound(filter.get("min")), toPriceBound(filter.get("max")),
+                    availability == null ? null : Boolean.valueOf(availability));
         } catch (Exception e) {
             throw new NotFoundException("The offers " + ExceptionMessage.NOT_FOUND);
         }
     }
 
-    private boolean checkTags(String offerTags, String filterTags) {
-        String[] filter = filterTags.trim().split(" ");
-        int checker = 0;
-        for (int i = 0; i < filter.length; i++) {
-            if (offerTags.contains(filter[i])) {
-                checker++;
+    public ImportResultDTO importOffers(Iterator<OfferImportDTO> offers) throws SQLException, NotCreatedException {
+        // A failed chunk leaves its session unusable, so every chunk gets its own EntityManager
+        // instead of the one open-in-view keeps for the whole request.
+        Object requestEntityManager = TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+        try {
+            return importInChunks(offers);
+        } finally {
+            if (requestEntityManager != null) {
+                TransactionSynchronizationManager.bindResource(entityManagerFactory, requestEntityManager);
+            }
+        }
+    }
+
+    private ImportResultDTO importInChunks(Iterator<OfferImportDTO> offers) throws NotCreatedException {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Map<String, Long> categoryIds = new HashMap<>();
+        Map<String, Long> tagIds = new HashMap<>();
+        transactionTemplate.execute(status -> {
+            try {
+                categoryDao.findAll().forEach(category -> categoryIds.put(category.getCategory(), category.getId()));
+                tagDao.findAll().forEach(tag -> tagIds.put(tag.getTag(), tag.getId()));
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            return null;
+        });
+
+        ImportResultDTO result = new ImportResultDTO();
+        List<OfferImportDTO> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        try {
+            while (offers.hasNext()) {
+                chunk.add(offers.next());
+                if (chunk.size() == IMPORT_CHUNK_SIZE || !offers.hasNext()) {
+                    long firstRow = result.getImported() + result.getFailed() + 1;
+                    try {
+                        transactionTemplate.execute(status -> importChunk(chunk, categoryIds, tagIds));
+                        result.setImported(result.getImported() + chunk.size());
+                    } catch (Exception e) {
+                        // replay the chunk row by row so one bad row does not cost the other 999
+                        for (int i = 0; i < chunk.size(); i++) {
+                            OfferImportDTO dto = chunk.get(i);
+                            try {
+                                transactionTemplate.execute(status -> importChunk(Collections.singletonList(dto), categoryIds, tagIds));
+                                result.setImported(result.getImported() + 1);
+                            } catch (Exception rowException) {
+                                result.setFailed(result.getFailed() + 1);
+                                if (result.getErrors().size() < MAX_REPORTED_IMPORT_ERRORS) {
+                                    result.getErrors().add(new ImportErrorDTO(firstRow + i, dto.getName(),
+                                            NestedExceptionUtils.getMostSpecificCause(rowException).getMessage()));
+                                }
+                            }
+                        }
+                    }
+                    chunk.clear();
+                }
+            }
+        } catch (RuntimeException e) {
+            throw new NotCreatedException("The offers" + ExceptionMessage.NOT_CREATED + " after " + result.getImported() + " rows");
+        }
+        return result;
+    }
+
+    private Void importChunk(List<OfferImportDTO> chunk, Map<String, Long> categoryIds, Map<String, Long> tagIds) {
+        try {
+            Map<String, Category> categories = new HashMap<>();
+            Map<String, Tag> tags = new HashMap<>();
+            List<Offer> imported = new ArrayList<>(chunk.size());
+            for (OfferImportDTO dto : chunk) {
+                Offer offer = new Offer(dto.getName(), dto.getDescription(), dto.isAvailability(), null,
+                        new ArrayList<>(), "", null);
+                offerDao.create(offer);
+                if (dto.getPrice() != null) {
+                    Price price = new Price(dto.getPrice(), dto.getCurrency(), offer);
+                    priceDao.create(price);
+                    offer.setPrice(price);
+                }
+                if (dto.getCategory() != null) {
+                    importCategory(dto.getCategory(), categories, categoryIds).addOffer(offer);
+                }
+                if (dto.getTags() != null) {
+                    for (String tagName : dto.getTags()) {
+                        offer.addTag(importTag(tagName, tags, tagIds));
+                    }
+                }
+                imported.add(offer);
+            }
+            offerDao.flushAndClear();
+
+            Map<String, Long> newCategoryIds = new HashMap<>();
+            categories.forEach((name, category) -> newCategoryIds.put(name, category.getId()));
+            Map<String, Long> newTagIds = new HashMap<>();
+            tags.forEach((name, tag) -> newTagIds.put(name, tag.getId()));
+            TransactionHooks.afterCommit(() -> {
+                categoryIds.putAll(newCategoryIds);
+                tagIds.putAll(newTagIds);
+                for (Offer offer : imported) {
+                    for (Tag tag : offer.getTagList()) {
+                        offerTagIndex.addTag(tag.getTag(), offer.getId());
+                    }
+                }
+            });
+            return null;
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Category importCategory(String name, Map<String, Category> categories, Map<String, Long> categoryIds)
+            throws SQLException {
+        Category category = categories.get(name);
+        if (category == null) {
+            Long id = categoryIds.get(name);
+            category = id != null ? (Category) categoryDao.read(id) : null;
+            if (category == null) {
+                category = new Category(name, new ArrayList<>());
+                categoryDao.create(category);
+            }
+            categories.put(name, category);
+        }
+        return category;
+    }
+
+    private Tag importTag(String name, Map<String, Tag> tags, Map<String, Long> tagIds) throws SQLException {
+        Tag tag = tags.get(name);
+        if (tag == null) {
+            Long id = tagIds.get(name);
+            tag = id != null ? (Tag) tagDao.read(id) : null;
+            if (tag == null) {
+                tag = new Tag(name, new ArrayList<>());
+                tagDao.create(tag);
             }
+            tags.put(name, tag);
         }
-        if (checker > 0) {
-            return true;
-        } else {
-            return false;
+        return tag;
+    }
+
+    private Double toPriceBound(String price) {
+        if (price == null) {
+            return null;
         }
+        Double bound = Double.valueOf(price);
+        return bound > 0 ? bound : null;
     }
 
 }
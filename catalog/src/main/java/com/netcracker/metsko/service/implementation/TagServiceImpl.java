@@ -1,6 +1,7 @@
 package com.netcracker.metsko.service.implementation;
 
 
+import com.netcracker.metsko.dao.OfferDao;
 import com.netcracker.metsko.dao.TagDao;
 import com.netcracker.metsko.entity.Offer;
 import com.netcracker.metsko.entity.Tag;
@@ -8,13 +9,16 @@ import com.netcracker.metsko.exceptions.NotCreatedException;
 import com.netcracker.metsko.exceptions.NotDeletedException;
 import com.netcracker.metsko.exceptions.NotFoundException;
 import com.netcracker.metsko.exceptions.NotUpdatedException;
+import com.netcracker.metsko.index.OfferTagIndex;
 import com.netcracker.metsko.service.TagService;
+import com.netcracker.metsko.util.TransactionHooks;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 public class TagServiceImpl implements TagService {
@@ -25,6 +29,12 @@ public class TagServiceImpl implements TagService {
     @Autowired
     private TagDao tagDao;
 
+    @Autowired
+    private OfferDao offerDao;
+
+    @Autowired
+    private OfferTagIndex offerTagIndex;
+
     @Transactional
     public void createTag(Tag tag) throws NotCreatedException, SQLException {
         try {
@@ -65,11 +75,21 @@ public class TagServiceImpl implements TagService {
         }
     }
 
+    @Override
+    public List<Tag> findPage(long afterId, int limit) throws NotFoundException, SQLException {
+        return tagDao.findPage(afterId, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<Tag> consumer) throws SQLException {
+        tagDao.scrollAll(consumer);
+    }
+
     @Override
     public List<Offer> findOffers(Long tagId) throws NotFoundException, SQLException {
         Tag tag = (Tag) tagDao.read(tagId);
         if (tag != null) {
-            return tag.getOfferList();
+            return offerDao.findByTag(tagId);
         } else {
             throw new NotFoundException("The offers");
         }
@@ -78,8 +98,14 @@ public class TagServiceImpl implements TagService {
 
     @Transactional
     public Tag updateTag(Tag tag) throws NotUpdatedException, SQLException {
+        Tag existingTag = (Tag) tagDao.read(tag.getId());
+        String oldName = existingTag != null ? existingTag.getTag() : null;
         Tag updatedTag = (Tag) tagDao.update(tag);
         if (updatedTag != null) {
+            if (oldName != null && !oldName.equals(updatedTag.getTag())) {
+                String newName = updatedTag.getTag();
+                TransactionHooks.afterCommit(() -> offerTagIndex.renameTag(oldName, newName));
+            }
             return updatedTag;
         } else {
             throw new NotUpdatedException("The tag");
@@ -89,7 +115,12 @@ public class TagServiceImpl implements TagService {
     @Transactional
     public void deleteTag(Long tagId) throws NotDeletedException, SQLException {
         try {
+            Tag tag = (Tag) tagDao.read(tagId);
             tagDao.delete(tagId);
+            if (tag != null) {
+                String name = tag.getTag();
+                TransactionHooks.afterCommit(() -> offerTagIndex.deleteTag(name));
+            }
         } catch (Exception e) {
             throw new NotDeletedException("the tag");
         }
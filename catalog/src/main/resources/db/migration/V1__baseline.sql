@@ -0,0 +1,63 @@
+-- Schema as previously generated by Hibernate. Existing databases are baselined at this version.
+
+create sequence hibernate_sequence start with 1 increment by 1;
+
+create table category (
+    id       int8        not null,
+    category varchar(20) not null,
+    primary key (id)
+);
+
+create table category_offer_list (
+    category_id   int8 not null,
+    offer_list_id int8 not null
+);
+
+create table offer (
+    id           int8        not null,
+    availability boolean,
+    description  varchar(100),
+    name         varchar(50) not null,
+    tags         varchar(255),
+    category_id  int8,
+    price_id     int8,
+    primary key (id)
+);
+
+create table offer_tag_list (
+    offer_id    int8 not null,
+    tag_list_id int8 not null
+);
+
+create table price (
+    id       int8 not null,
+    currency varchar(255),
+    price    float8,
+    offer_id int8,
+    primary key (id)
+);
+
+create table tag (
+    id  int8        not null,
+    tag varchar(20) not null,
+    primary key (id)
+);
+
+create table tag_offer_list (
+    tag_id        int8 not null,
+    offer_list_id int8 not null
+);
+
+alter table category add constraint UK_oo4xayr0g0mkbajn7n2m3918u unique (category);
+alter table category_offer_list add constraint UK_iw7ihvq8n9f0gp2b1cxelf80p unique (offer_list_id);
+alter table offer add constraint UK_slq1r8yl9h96aqms6ghme6bg3 unique (name);
+alter table tag add constraint UK_o57lceede8jwia5g1f6mgkidq unique (tag);
+alter table category_offer_list add constraint FK7ogv7iictedu0es4nf0nkjeva foreign key (offer_list_id) references offer;
+alter table category_offer_list add constraint FK9ea3jj4jdtjjyqutrffn5f2bn foreign key (category_id) references category;
+alter table offer add constraint FKkaaxymqfu6ccvk2rppoc1xy0x foreign key (category_id) references category;
+alter table offer add constraint FKehe6dqlac5tfeyhv6hlaxp8d0 foreign key (price_id) references price;
+alter table offer_tag_list add constraint FKn6bujas9410p1jkgi1jwcrvit foreign key (tag_list_id) references tag;
+alter table offer_tag_list add constraint FKdh266btnvvm66w5ksmxjdni45 foreign key (offer_id) references offer;
+alter table price add constraint FKo4rccic2e98jrio7xuq51nd79 foreign key (offer_id) references offer;
+alter table tag_offer_list add constraint FKct3aug5ofogpkwm41m58pciju foreign key (offer_list_id) references offer;
+alter table tag_offer_list add constraint FK97dcga1hsr3rd4gsktmw00ne8 foreign key (tag_id) references tag;
@@ -0,0 +1,29 @@
+-- Tag.offerList and Category.offerList are now mapped by Offer, so offer_tag_list and offer.category_id
+-- are the only links. Links that were only ever written from the tag or category side move over first.
+
+insert into offer_tag_list (offer_id, tag_list_id)
+select distinct t.offer_list_id, t.tag_id
+from tag_offer_list t
+where not exists (select 1 from offer_tag_list o where o.offer_id = t.offer_list_id and o.tag_list_id = t.tag_id);
+
+update offer o
+set category_id = c.category_id
+from category_offer_list c
+where c.offer_list_id = o.id and o.category_id is null;
+
+drop table tag_offer_list;
+drop table category_offer_list;
+
+-- One sequence per entity, handing out pooled-lo blocks of the entity's increment_size.
+-- Every sequence starts past the ids hibernate_sequence has already handed out.
+create sequence category_seq increment by 10;
+create sequence offer_seq increment by 100;
+create sequence price_seq increment by 100;
+create sequence tag_seq increment by 20;
+
+select setval('category_seq', coalesce(max(id), 0) + 1, false) from category;
+select setval('offer_seq', coalesce(max(id), 0) + 1, false) from offer;
+select setval('price_seq', coalesce(max(id), 0) + 1, false) from price;
+select setval('tag_seq', coalesce(max(id), 0) + 1, false) from tag;
+
+drop sequence hibernate_sequence;
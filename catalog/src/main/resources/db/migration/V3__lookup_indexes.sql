@@ -0,0 +1,16 @@
+-- offer.name, tag.tag and category.category are already covered by their unique constraints.
+
+-- Offer.findByPriceFrom / findByPriceTo / findByPriceBetween range-scan prices, then join back to offer.
+create index price_price_idx on price (price);
+
+-- Offer.findByPriceBetween only ever asks for available offers.
+create index offer_available_price_idx on offer (price_id) where availability = true;
+
+-- OfferDao.findFiltered: category plus optional availability.
+create index offer_category_availability_idx on offer (category_id, availability);
+
+create index offer_availability_idx on offer (availability);
+
+-- Tag filters walk the join table from the tag side, offer loading from the offer side.
+create index offer_tag_list_tag_idx on offer_tag_list (tag_list_id, offer_id);
+create index offer_tag_list_offer_idx on offer_tag_list (offer_id);
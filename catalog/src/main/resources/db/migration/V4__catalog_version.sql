@@ -0,0 +1,8 @@
+-- Catalog-wide change counter behind the HTTP ETags. Every transaction that writes catalog data
+-- bumps it before committing, so all catalog instances hand out the same tag for the same data.
+create table catalog_version (
+  id integer primary key,
+  version bigint not null
+);
+
+insert into catalog_version (id, version) values (1, 0);
@@ -0,0 +1,105 @@
+package com.netcracker.metsko.controller;
+
+import com.netcracker.metsko.entity.Category;
+import com.netcracker.metsko.entity.Offer;
+import com.netcracker.metsko.entity.Tag;
+import com.netcracker.metsko.statistics.StatementCount;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:taxonomy;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=sa",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "flyway.enabled=false",
+        "eureka.client.enabled=false"
+})
+@ActiveProfiles("container")
+@AutoConfigureMockMvc
+public class CategoryAndTagControllerStatementsTest {
+
+    private static final int OFFERS = 30;
+
+    private static boolean seeded;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Before
+    public void seed() {
+        if (seeded) {
+            return;
+        }
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        List<Category> categories = Arrays.asList(new Category("books", new ArrayList<>()), new Category("music", new ArrayList<>()));
+        List<Tag> tags = Arrays.asList(new Tag("new", new ArrayList<>()), new Tag("sale", new ArrayList<>()), new Tag("gift", new ArrayList<>()));
+        categories.forEach(entityManager::persist);
+        tags.forEach(entityManager::persist);
+        for (int i = 0; i < OFFERS; i++) {
+            Offer offer = new Offer("Item" + i, "about item " + i, true, null, new ArrayList<>(), "", categories.get(i % categories.size()));
+            offer.getTagList().add(tags.get(i % tags.size()));
+            entityManager.persist(offer);
+        }
+        entityManager.getTransaction().commit();
+        entityManager.close();
+        seeded = true;
+    }
+
+    @Test
+    public void categoryListDoesNotLoadOffers() throws Exception {
+        StatementCount.assertAtMost(meterRegistry, 1, () -> list("/api/v1/catalog/categories"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].offerList").doesNotExist());
+        StatementCount.assertAtMost(meterRegistry, 1, () -> page("/api/v1/catalog/categories"));
+        StatementCount.assertAtMost(meterRegistry, 1, () -> stream("/api/v1/catalog/categories"));
+    }
+
+    @Test
+    public void tagListDoesNotLoadOffers() throws Exception {
+        StatementCount.assertAtMost(meterRegistry, 1, () -> list("/api/v1/catalog/tags"))
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].offerList").doesNotExist());
+        StatementCount.assertAtMost(meterRegistry, 1, () -> page("/api/v1/catalog/tags"));
+        StatementCount.assertAtMost(meterRegistry, 1, () -> stream("/api/v1/catalog/tags"));
+    }
+
+    private ResultActions list(String path) throws Exception {
+        return mockMvc.perform(get(path)).andExpect(status().isOk());
+    }
+
+    private ResultActions page(String path) throws Exception {
+        return mockMvc.perform(get(path).param("after", "0").param("limit", "10")).andExpect(status().isOk());
+    }
+
+    private ResultActions stream(String path) throws Exception {
+        return mockMvc.perform(get(path).param("stream", "true")).andExpect(status().isOk());
+    }
+}
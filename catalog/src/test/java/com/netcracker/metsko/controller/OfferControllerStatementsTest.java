@@ -0,0 +1,95 @@
+package com.netcracker.metsko.controller;
+
+import com.netcracker.metsko.entity.Category;
+import com.netcracker.metsko.entity.Offer;
+import com.netcracker.metsko.entity.Price;
+import com.netcracker.metsko.statistics.StatementCount;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statements;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=sa",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "flyway.enabled=false",
+        "eureka.client.enabled=false"
+})
+@ActiveProfiles("container")
+@AutoConfigureMockMvc
+public class OfferControllerStatementsTest {
+
+    private static final int OFFERS = 30;
+
+    private static boolean seeded;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Before
+    public void seed() {
+        if (seeded) {
+            return;
+        }
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        Category category = new Category("books", new ArrayList<>());
+        entityManager.persist(category);
+        for (int i = 0; i < OFFERS; i++) {
+            Offer offer = new Offer("Book" + i, "about book " + i, true, null, new ArrayList<>(), "", category);
+            Price price = new Price(i + 0.99, "USD", offer);
+            offer.setPrice(price);
+            entityManager.persist(offer);
+            entityManager.persist(price);
+        }
+        entityManager.getTransaction().commit();
+        entityManager.close();
+        seeded = true;
+    }
+
+    @Test
+    public void offerPageDoesNotLoadPricesOneByOne() throws Exception {
+        StatementCount.assertAtMost(meterRegistry, 2, this::firstPage)
+                .andExpect(jsonPath("$.length()").value(OFFERS));
+    }
+
+    @Test
+    public void offerStreamLoadsPricesWithTheOffers() throws Exception {
+        StatementCount.assertAtMost(meterRegistry, 1, () -> mockMvc.perform(get("/api/v1/catalog/offers").param("stream", "true"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test(expected = AssertionError.class)
+    public void exceedingTheBudgetFails() throws Exception {
+        StatementCount.assertAtMost(meterRegistry, 0, this::firstPage);
+    }
+
+    private ResultActions firstPage() throws Exception {
+        return mockMvc.perform(get("/api/v1/catalog/offers").param("after", "0").param("limit", "100"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,94 @@
+package com.netcracker.metsko.index;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OfferTagIndexTest {
+
+    private OfferTagIndex index;
+
+    @Before
+    public void setUp() {
+        index = new OfferTagIndex();
+        index.addTag("red", 1);
+        index.addTag("red", 2);
+        index.addTag("blue", 2);
+        index.addTag("blue", 3);
+    }
+
+    @Test
+    public void findAnyReturnsTheUnionInIdOrder() {
+        assertThat(index.findAny(Arrays.asList("blue", "red"))).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    public void findAllReturnsTheIntersection() {
+        assertThat(index.findAll(Arrays.asList("red", "blue"))).containsExactly(2L);
+    }
+
+    @Test
+    public void findAllWithAnUnknownTagIsEmpty() {
+        assertThat(index.findAll(Arrays.asList("red", "green"))).isEmpty();
+        assertThat(index.findAll(Collections.emptyList())).isEmpty();
+    }
+
+    @Test
+    public void tagsMatchExactly() {
+        assertThat(index.findAny(Collections.singletonList("re"))).isEmpty();
+    }
+
+    @Test
+    public void findAllDoesNotChangeTheIndex() {
+        index.findAll(Arrays.asList("red", "blue"));
+
+        assertThat(index.findAny(Collections.singletonList("red"))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    public void removeTagDropsOnlyThatOffer() {
+        index.removeTag("red", 1);
+
+        assertThat(index.findAny(Collections.singletonList("red"))).containsExactly(2L);
+    }
+
+    @Test
+    public void removeOfferDropsItFromEveryTag() {
+        index.removeOffer(2);
+
+        assertThat(index.findAny(Arrays.asList("red", "blue"))).containsExactly(1L, 3L);
+    }
+
+    @Test
+    public void replaceTagsReindexesTheOffer() {
+        index.replaceTags(2, Arrays.asList("blue", "green"));
+
+        assertThat(index.findAny(Collections.singletonList("red"))).containsExactly(1L);
+        assertThat(index.findAny(Collections.singletonList("green"))).containsExactly(2L);
+        assertThat(index.findAll(Arrays.asList("blue", "green"))).containsExactly(2L);
+    }
+
+    @Test
+    public void renameTagMergesIntoTheNewName() {
+        index.renameTag("red", "blue");
+
+        assertThat(index.findAny(Collections.singletonList("red"))).isEmpty();
+        assertThat(index.findAny(Collections.singletonList("blue"))).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    public void idsAboveIntRangeAreIndexed() {
+        long bigId = Integer.MAX_VALUE + 10L;
+        index.addTag("red", bigId);
+
+        assertThat(index.findAll(Collections.singletonList("red"))).containsExactly(1L, 2L, bigId);
+
+        index.removeOffer(bigId);
+
+        assertThat(index.findAny(Collections.singletonList("red"))).containsExactly(1L, 2L);
+    }
+}
@@ -0,0 +1,55 @@
+package com.netcracker.metsko.mapper;
+
+import com.netcracker.metsko.entity.Offer;
+import com.netcracker.metsko.entity.Price;
+import com.netcracker.metsko.entity.dto.OfferDTO;
+import org.junit.Test;
+import org.modelmapper.ModelMapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OfferMapperTest {
+
+    private final OfferMapper offerMapper = new OfferMapper();
+
+    @Test
+    public void toDTOCopiesFieldsAndFlattensThePrice() {
+        OfferDTO offerDTO = offerMapper.toDTO(offer(7, "Novel", 12.5));
+
+        assertThat(offerDTO.getId()).isEqualTo(7L);
+        assertThat(offerDTO.getName()).isEqualTo("Novel");
+        assertThat(offerDTO.getDescription()).isEqualTo("about Novel");
+        assertThat(offerDTO.getPrice()).isEqualTo(12.5);
+    }
+
+    @Test
+    public void offerWithoutPriceMapsToZero() {
+        Offer offer = new Offer("Novel", "about Novel", true, null, new ArrayList<>(), "", null);
+
+        assertThat(offerMapper.toDTO(offer).getPrice()).isZero();
+    }
+
+    @Test
+    public void toDTOListKeepsTheOrder() {
+        List<OfferDTO> offerDTOList = offerMapper.toDTOList(Arrays.asList(offer(2, "Atlas", 30), offer(1, "Novel", 12.5)));
+
+        assertThat(offerDTOList).extracting(OfferDTO::getName).containsExactly("Atlas", "Novel");
+    }
+
+    @Test
+    public void matchesTheModelMapperOutput() {
+        Offer offer = offer(7, "Novel", 12.5);
+
+        assertThat(offerMapper.toDTO(offer)).isEqualTo(new ModelMapper().map(offer, OfferDTO.class));
+    }
+
+    static Offer offer(long id, String name, double price) {
+        Offer offer = new Offer(name, "about " + name, true, new Price(price, "USD", null), new ArrayList<>(), "", null);
+        offer.setId(id);
+        return offer;
+    }
+}
@@ -0,0 +1,138 @@
+package com.netcracker.metsko.migration;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationVersion;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeFalse;
+
+/**
+ * Upgrades a database holding rows written before Flyway, then checks with EXPLAIN that the
+ * DAO lookups can use the indexes from the migrations. Runs against an embedded PostgreSQL.
+ */
+public class MigrationTest {
+
+    private static EmbeddedPostgres postgres;
+
+    private static SingleConnectionDataSource dataSource;
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeClass
+    public static void migrate() throws IOException, SQLException {
+        assumeFalse("initdb refuses to run as root", "root".equals(System.getProperty("user.name")));
+        postgres = EmbeddedPostgres.start();
+        dataSource = new SingleConnectionDataSource(postgres.getPostgresDatabase().getConnection(), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        Flyway flyway = new Flyway();
+        flyway.setDataSource(dataSource);
+        flyway.setTarget(MigrationVersion.fromVersion("1"));
+        flyway.migrate();
+
+        // links as Hibernate wrote them while Category.offerList and Tag.offerList had their own join tables
+        jdbcTemplate.execute("insert into category (id, category) values (1, 'books')");
+        jdbcTemplate.execute("insert into tag (id, tag) values (2, 'paper'), (3, 'glossy')");
+        jdbcTemplate.execute("insert into offer (id, name, availability, category_id) values (4, 'Novel', true, null), (5, 'Atlas', true, 1)");
+        jdbcTemplate.execute("insert into price (id, price, currency, offer_id) values (6, 9.5, 'USD', 4)");
+        jdbcTemplate.execute("update offer set price_id = 6 where id = 4");
+        jdbcTemplate.execute("insert into category_offer_list (category_id, offer_list_id) values (1, 4), (1, 5)");
+        jdbcTemplate.execute("insert into offer_tag_list (offer_id, tag_list_id) values (4, 2)");
+        jdbcTemplate.execute("insert into tag_offer_list (tag_id, offer_list_id) values (2, 4), (3, 5)");
+
+        flyway.setTarget(MigrationVersion.LATEST);
+        flyway.migrate();
+
+        jdbcTemplate.execute("insert into category (id, category) select g, 'category' || g from generate_series(100, 119) g");
+        jdbcTemplate.execute("insert into tag (id, tag) select g, 'tag' || g from generate_series(100, 199) g");
+        jdbcTemplate.execute("insert into price (id, price, currency) select g, g % 1000, 'USD' from generate_series(1000, 20999) g");
+        jdbcTemplate.execute("insert into offer (id, name, availability, category_id, price_id) "
+                + "select g, 'Offer' || g, g % 3 <> 0, 100 + g % 20, g from generate_series(1000, 20999) g");
+        jdbcTemplate.execute("insert into offer_tag_list (offer_id, tag_list_id) select g, 100 + g % 100 from generate_series(1000, 20999) g");
+        jdbcTemplate.execute("analyze");
+        jdbcTemplate.execute("set enable_seqscan = off");
+    }
+
+    @AfterClass
+    public static void stop() throws IOException {
+        if (postgres != null) {
+            dataSource.destroy();
+            postgres.close();
+        }
+    }
+
+    @Test
+    public void tagLinksAreMergedIntoOfferTagList() {
+        assertThat(jdbcTemplate.queryForList("select offer_id || '-' || tag_list_id from offer_tag_list where offer_id < 1000 order by 1", String.class))
+                .containsExactly("4-2", "5-3");
+        assertThat(tableExists("tag_offer_list")).isFalse();
+    }
+
+    @Test
+    public void categoryLinksMoveToTheOffer() {
+        assertThat(jdbcTemplate.queryForObject("select category_id from offer where id = 4", Long.class)).isEqualTo(1L);
+        assertThat(tableExists("category_offer_list")).isFalse();
+    }
+
+    @Test
+    public void sequencesStartPastExistingIds() {
+        assertThat(jdbcTemplate.queryForObject("select count(*) from information_schema.sequences where sequence_name = 'hibernate_sequence'", Long.class))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("select increment from information_schema.sequences where sequence_name = 'offer_seq'", Long.class))
+                .isEqualTo(100L);
+        assertThat(jdbcTemplate.queryForObject("select last_value from offer_seq", Long.class)).isEqualTo(6L);
+        assertThat(jdbcTemplate.queryForObject("select last_value from price_seq", Long.class)).isEqualTo(7L);
+    }
+
+    @Test
+    public void catalogVersionStartsWithOneRow() {
+        assertThat(jdbcTemplate.queryForList("select version from catalog_version where id = 1", Long.class)).containsExactly(0L);
+    }
+
+    @Test
+    public void priceRangeUsesThePriceIndex() {
+        assertThat(explain("select id from price where price between 10 and 20")).contains("price_price_idx");
+    }
+
+    @Test
+    public void availablePriceLookupUsesThePartialIndex() {
+        assertThat(explain("select id from offer where availability = true and price_id = 1234")).contains("offer_available_price_idx");
+    }
+
+    @Test
+    public void filteredOffersUseTheCategoryIndex() {
+        assertThat(explain("select id from offer where category_id = 105 and availability = true")).contains("offer_category_availability_idx");
+    }
+
+    @Test
+    public void tagFilterWalksTheJoinTableFromTheTagSide() {
+        assertThat(explain("select offer_id from offer_tag_list where tag_list_id = 150")).contains("offer_tag_list_tag_idx");
+    }
+
+    @Test
+    public void offerTagsLoadFromTheOfferSide() {
+        assertThat(explain("select tag_list_id from offer_tag_list where offer_id = 1234")).contains("offer_tag_list_offer_idx");
+    }
+
+    @Test
+    public void nameLookupUsesTheUniqueConstraint() {
+        assertThat(explain("select id from offer where name = 'Offer1234'")).contains("uk_slq1r8yl9h96aqms6ghme6bg3");
+    }
+
+    private static String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class));
+    }
+
+    private static boolean tableExists(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from information_schema.tables where table_name = ?", Long.class, table) > 0;
+    }
+}
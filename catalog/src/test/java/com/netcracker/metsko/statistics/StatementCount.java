@@ -0,0 +1,33 @@
+package com.netcracker.metsko.statistics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Fails a test when the requests it makes run more SQL statements than allowed. Counts what
+ * StatisticsInterceptor records in the hibernate.request.statements summaries, so it works with MockMvc
+ * and with real HTTP calls alike.
+ */
+public final class StatementCount {
+
+    private StatementCount() {
+    }
+
+    public static <T> T assertAtMost(MeterRegistry meterRegistry, int maxStatements, Callable<T> requests) throws Exception {
+        double before = total(meterRegistry);
+        T result = requests.call();
+        long statements = Math.round(total(meterRegistry) - before);
+        if (statements > maxStatements) {
+            throw new AssertionError("Expected at most " + maxStatements + " SQL statements, but the requests ran " + statements);
+        }
+        return result;
+    }
+
+    private static double total(MeterRegistry meterRegistry) {
+        return meterRegistry.find("hibernate.request.statements").summaries().stream()
+                .mapToDouble(DistributionSummary::totalAmount)
+                .sum();
+    }
+}
@@ -0,0 +1,28 @@
+package com.netcracker.metsko.config;
+
+import com.codahale.metrics.MetricRegistry;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnClass(name = "com.zaxxer.hikari.HikariDataSource")
+public class DataSourceConfig {
+
+    /**
+     * Hikari pool bound to spring.datasource.hikari.*; its gauges and acquire-time
+     * timer are registered in the shared MetricRegistry and show up on /metrics.
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties, MetricRegistry metricRegistry) {
+        HikariDataSource dataSource = (HikariDataSource) properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setMetricRegistry(metricRegistry);
+        return dataSource;
+    }
+}
@@ -0,0 +1,56 @@
+package com.netcracker.metsko.config;
+
+import com.netcracker.metsko.util.PooledSequenceGenerator;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.List;
+
+@Configuration
+@ConditionalOnClass(name = "org.hibernate.engine.spi.SessionFactoryImplementor")
+public class SequenceConfig {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * Pooled-lo hands out increment_size ids per sequence call, so an allocation size above the
+     * sequence's INCREMENT BY would make two blocks overlap. Refuse to start rather than risk
+     * duplicate keys.
+     */
+    @PostConstruct
+    public void verifyIncrements() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        for (EntityPersister persister : sessionFactory.getEntityPersisters().values()) {
+            IdentifierGenerator generator = persister.getIdentifierGenerator();
+            if (generator instanceof PooledSequenceGenerator) {
+                DatabaseStructure sequence = ((SequenceStyleGenerator) generator).getDatabaseStructure();
+                String name = sequence.getName().substring(sequence.getName().lastIndexOf('.') + 1);
+                List<Long> increments = jdbcTemplate.queryForList(
+                        "select increment from information_schema.sequences where lower(sequence_name) = lower(?)",
+                        Long.class, name);
+                if (increments.isEmpty()) {
+                    throw new IllegalStateException("Sequence " + name + " does not exist");
+                }
+                if (sequence.getIncrementSize() > increments.get(0)) {
+                    throw new IllegalStateException("Allocation size " + sequence.getIncrementSize() + " of " + name
+                            + " exceeds the sequence increment " + increments.get(0));
+                }
+            }
+        }
+    }
+}
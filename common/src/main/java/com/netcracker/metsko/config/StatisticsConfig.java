@@ -0,0 +1,36 @@
+package com.netcracker.metsko.config;
+
+import com.netcracker.metsko.statistics.StatisticsSessionListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jpa.HibernateMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+@Configuration
+@ConditionalOnClass(name = "org.hibernate.engine.spi.SessionFactoryImplementor")
+public class StatisticsConfig {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${hibernate-stats.slow-query-threshold:200}")
+    private long slowQueryThreshold;
+
+    /**
+     * Exposes the session factory totals (statements, loads, fetches, cache hits, query max) next to
+     * the per-request figures from StatisticsInterceptor.
+     */
+    @PostConstruct
+    public void init() {
+        StatisticsSessionListener.setSlowQueryThreshold(slowQueryThreshold);
+        HibernateMetrics.monitor(meterRegistry, entityManagerFactory, "entityManagerFactory");
+    }
+}
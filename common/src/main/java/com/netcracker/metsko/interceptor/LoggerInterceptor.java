@@ -0,0 +1,99 @@
+package com.netcracker.metsko.interceptor;
+
+import com.netcracker.metsko.util.Spans;
+import com.netcracker.metsko.util.TraceContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Times every request per handler, counts responses per status, tracks requests in flight and
+ * records the server span of the incoming traceparent; sampled requests also get a key=value line
+ * on the asynchronous "access" logger.
+ */
+@Component
+public class LoggerInterceptor implements HandlerInterceptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger("access");
+
+    private static final String START_ATTRIBUTE = LoggerInterceptor.class.getName() + ".start";
+
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger inFlight;
+
+    @Value("${access-log.sample-rate:1.0}")
+    private double sampleRate;
+
+    @Autowired
+    public LoggerInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.inFlight = meterRegistry.gauge("http.server.requests.active", new AtomicInteger());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (request.getDispatcherType() == DispatcherType.REQUEST) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+            request.setAttribute(TraceContext.ATTRIBUTE, TraceContext.childOf(request.getHeader(TraceContext.HEADER)));
+            inFlight.incrementAndGet();
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) throws Exception {
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
+        Long start = (Long) request.getAttribute(START_ATTRIBUTE);
+        if (start == null) {
+            return;
+        }
+        // an error dispatch to /error would come through here again
+        request.removeAttribute(START_ATTRIBUTE);
+        inFlight.decrementAndGet();
+        long latency = System.nanoTime() - start;
+        int status = ex != null && response.getStatus() < 400 ? 500 : response.getStatus();
+        String statusTag = Integer.toString(status);
+        String handlerName = handlerName(handler);
+        TraceContext span = (TraceContext) request.getAttribute(TraceContext.ATTRIBUTE);
+
+        Timer.builder("http.server.handler")
+                .tags("handler", handlerName, "method", request.getMethod(), "status", statusTag)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(latency, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("http.server.responses", "status", statusTag).increment();
+        Spans.export(span, "server", handlerName, latency, status);
+
+        if (LOGGER.isInfoEnabled() && (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+            LOGGER.info("method={} path={} status={} latencyMs={} traceId={}", request.getMethod(), request.getRequestURI(),
+                    status, latency / 1_000_000, span.getTraceId());
+        }
+    }
+
+    static String handlerName(Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return "none";
+    }
+}
@@ -0,0 +1,76 @@
+package com.netcracker.metsko.interceptor;
+
+import com.netcracker.metsko.statistics.RequestStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the Hibernate work of each request per handler, and warns when a request runs more
+ * statements than hibernate-stats.statement-budget allows.
+ */
+@Component
+@ConditionalOnClass(name = "org.hibernate.engine.spi.SessionFactoryImplementor")
+public class StatisticsInterceptor extends HandlerInterceptorAdapter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatisticsInterceptor.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${hibernate-stats.statement-budget:0}")
+    private int statementBudget;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (request.getDispatcherType() == DispatcherType.REQUEST) {
+            RequestStatistics.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
+        RequestStatistics statistics = RequestStatistics.end();
+        if (statistics == null) {
+            return;
+        }
+        String handlerName = LoggerInterceptor.handlerName(handler);
+        summary("hibernate.request.statements", handlerName).record(statistics.getStatements());
+        summary("hibernate.request.entity.loads", handlerName).record(statistics.getEntityLoads());
+        summary("hibernate.request.collection.fetches", handlerName).record(statistics.getCollectionFetches());
+        meterRegistry.counter("hibernate.request.cache.hits", "handler", handlerName).increment(statistics.getCacheHits());
+        meterRegistry.counter("hibernate.request.cache.misses", "handler", handlerName).increment(statistics.getCacheMisses());
+        Timer.builder("hibernate.request.query.max")
+                .tags("handler", handlerName)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry)
+                .record(statistics.getQueryMaxNanos(), TimeUnit.NANOSECONDS);
+
+        if (statementBudget > 0 && statistics.getStatements() > statementBudget) {
+            meterRegistry.counter("hibernate.request.budget.exceeded", "handler", handlerName).increment();
+            LOGGER.warn("Statement budget exceeded: handler={} path={} statements={} budget={} entityLoads={} collectionFetches={}",
+                    handlerName, request.getRequestURI(), statistics.getStatements(), statementBudget,
+                    statistics.getEntityLoads(), statistics.getCollectionFetches());
+        }
+    }
+
+    private DistributionSummary summary(String name, String handlerName) {
+        return DistributionSummary.builder(name)
+                .tags("handler", handlerName)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,83 @@
+package com.netcracker.metsko.statistics;
+
+/**
+ * Hibernate work done on behalf of the request being served on this thread.
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+
+    private int entityLoads;
+
+    private int collectionFetches;
+
+    private int cacheHits;
+
+    private int cacheMisses;
+
+    private long queryMaxNanos;
+
+    private RequestStatistics() {
+    }
+
+    public static void begin() {
+        CURRENT.set(new RequestStatistics());
+    }
+
+    public static RequestStatistics end() {
+        RequestStatistics statistics = CURRENT.get();
+        CURRENT.remove();
+        return statistics;
+    }
+
+    static RequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    void statementExecuted(long nanos) {
+        statements++;
+        queryMaxNanos = Math.max(queryMaxNanos, nanos);
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    void collectionFetched() {
+        collectionFetches++;
+    }
+
+    void cacheGet(boolean hit) {
+        if (hit) {
+            cacheHits++;
+        } else {
+            cacheMisses++;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    public int getCollectionFetches() {
+        return collectionFetches;
+    }
+
+    public int getCacheHits() {
+        return cacheHits;
+    }
+
+    public int getCacheMisses() {
+        return cacheMisses;
+    }
+
+    public long getQueryMaxNanos() {
+        return queryMaxNanos;
+    }
+}
@@ -0,0 +1,21 @@
+package com.netcracker.metsko.statistics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Remembers the SQL last prepared on this thread so the slow-query log can name it.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<String> CURRENT_SQL = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        CURRENT_SQL.set(sql);
+        return sql;
+    }
+
+    static String currentSql() {
+        return CURRENT_SQL.get();
+    }
+}
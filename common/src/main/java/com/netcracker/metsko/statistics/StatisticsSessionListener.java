@@ -0,0 +1,65 @@
+package com.netcracker.metsko.statistics;
+
+import org.hibernate.BaseSessionEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by Hibernate for every session (hibernate.session.events.auto). Times each statement and
+ * batch, counts second-level cache lookups, and logs statements slower than the threshold.
+ */
+public class StatisticsSessionListener extends BaseSessionEventListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatisticsSessionListener.class);
+
+    private static volatile long slowQueryThresholdNanos = Long.MAX_VALUE;
+
+    private long executeStart;
+
+    /**
+     * @param millis statements running at least this long are logged; 0 turns the log off
+     */
+    public static void setSlowQueryThreshold(long millis) {
+        slowQueryThresholdNanos = millis > 0 ? TimeUnit.MILLISECONDS.toNanos(millis) : Long.MAX_VALUE;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executed(System.nanoTime() - executeStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executed(System.nanoTime() - executeStart);
+    }
+
+    @Override
+    public void cacheGetEnd(boolean hit) {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            statistics.cacheGet(hit);
+        }
+    }
+
+    private void executed(long nanos) {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            statistics.statementExecuted(nanos);
+        }
+        if (nanos >= slowQueryThresholdNanos) {
+            LOGGER.warn("Slow query: durationMs={} sql={}", nanos / 1_000_000, SqlStatementInspector.currentSql());
+        }
+    }
+}
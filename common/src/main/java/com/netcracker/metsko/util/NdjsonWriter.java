@@ -0,0 +1,55 @@
+package com.netcracker.metsko.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes each accepted value as one JSON line, so a scrolled result set can be
+ * sent to the client without collecting it into a list first.
+ */
+public class NdjsonWriter<T> implements Consumer<T>, Closeable {
+
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    private static final int FLUSH_EVERY = 100;
+
+    private final ObjectWriter objectWriter;
+
+    private final OutputStream outputStream;
+
+    private int written;
+
+    public NdjsonWriter(ObjectMapper objectMapper, OutputStream outputStream) {
+        this.objectWriter = objectMapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.outputStream = outputStream;
+    }
+
+    @Override
+    public void accept(T value) {
+        try {
+            objectWriter.writeValue(outputStream, value);
+            outputStream.write('\n');
+            if (++written % FLUSH_EVERY == 0) {
+                outputStream.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        outputStream.flush();
+    }
+}
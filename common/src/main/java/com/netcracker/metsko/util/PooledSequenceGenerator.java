@@ -0,0 +1,32 @@
+package com.netcracker.metsko.util;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Sequence generator that hands out ids from pooled-lo blocks, so only one
+ * sequence call is made per block. The block size is the "increment_size"
+ * parameter and can be overridden per sequence with
+ * hibernate.id.increment_size.&lt;sequence_name&gt;.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String INCREMENT_SIZE_PREFIX = "hibernate.id.increment_size.";
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        Object incrementSize = serviceRegistry.getService(ConfigurationService.class).getSettings()
+                .get(INCREMENT_SIZE_PREFIX + params.getProperty(SEQUENCE_PARAM));
+        if (incrementSize != null) {
+            params.setProperty(INCREMENT_PARAM, incrementSize.toString());
+        }
+        params.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, params, serviceRegistry);
+    }
+}
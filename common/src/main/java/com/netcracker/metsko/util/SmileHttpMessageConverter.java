@@ -0,0 +1,26 @@
+package com.netcracker.metsko.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Reads and writes Jackson Smile, the binary form of JSON, for clients that ask for it with Accept.
+ * The mapper gets the same settings as the JSON one.
+ */
+public class SmileHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    public static final String MEDIA_TYPE = "application/x-jackson-smile";
+
+    public SmileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        super(smileMapper(builder), MediaType.valueOf(MEDIA_TYPE));
+    }
+
+    private static ObjectMapper smileMapper(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper objectMapper = new ObjectMapper(new SmileFactory());
+        builder.configure(objectMapper);
+        return objectMapper;
+    }
+}
@@ -0,0 +1,24 @@
+package com.netcracker.metsko.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Exports finished spans as key=value lines to the "trace" logger, which logback-spring.xml writes
+ * to a local file asynchronously. Grepping the files of all services for a traceId gives the per-hop breakdown.
+ */
+public final class Spans {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger("trace");
+
+    private Spans() {
+    }
+
+    public static void export(TraceContext span, String kind, String name, long durationNanos, int status) {
+        if (span.isSampled() && LOGGER.isInfoEnabled()) {
+            LOGGER.info("traceId={} spanId={} parentId={} kind={} name={} startMs={} durationUs={} status={}",
+                    span.getTraceId(), span.getSpanId(), span.getParentId(), kind, name,
+                    System.currentTimeMillis() - durationNanos / 1_000_000, durationNanos / 1_000, status);
+        }
+    }
+}
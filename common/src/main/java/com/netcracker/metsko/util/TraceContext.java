@@ -0,0 +1,101 @@
+package com.netcracker.metsko.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One span of a trace, carried between services in the W3C traceparent header:
+ * {@code 00-<32 hex trace id>-<16 hex span id>-<flags>}.
+ */
+public final class TraceContext {
+
+    public static final String HEADER = "traceparent";
+
+    public static final String ATTRIBUTE = TraceContext.class.getName();
+
+    private static final String ZEROS = "0000000000000000";
+
+    private final String traceId;
+
+    private final String spanId;
+
+    private final String parentId;
+
+    private final boolean sampled;
+
+    private TraceContext(String traceId, String spanId, String parentId, boolean sampled) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentId = parentId;
+        this.sampled = sampled;
+    }
+
+    /**
+     * A new span under the one described by the header, or the root of a new trace when the header
+     * is missing or malformed.
+     */
+    public static TraceContext childOf(String header) {
+        TraceContext parent = parse(header);
+        if (parent == null) {
+            return new TraceContext(randomId() + randomId(), randomId(), null, true);
+        }
+        return parent.child();
+    }
+
+    public TraceContext child() {
+        return new TraceContext(traceId, randomId(), spanId, sampled);
+    }
+
+    public String header() {
+        return "00-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentId() {
+        return parentId;
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    private static TraceContext parse(String header) {
+        if (header == null || header.length() < 55 || header.charAt(2) != '-' || header.charAt(35) != '-'
+                || header.charAt(52) != '-' || header.startsWith("ff")) {
+            return null;
+        }
+        String traceId = header.substring(3, 35);
+        String spanId = header.substring(36, 52);
+        String flags = header.substring(53, 55);
+        if (!isHex(traceId) || !isHex(spanId) || !isHex(flags)
+                || traceId.equals(ZEROS + ZEROS) || spanId.equals(ZEROS)) {
+            return null;
+        }
+        return new TraceContext(traceId, spanId, null, (Integer.parseInt(flags, 16) & 1) == 1);
+    }
+
+    private static boolean isHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String randomId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        String hex = Long.toHexString(id);
+        return ZEROS.substring(hex.length()) + hex;
+    }
+}
@@ -1,38 +1,54 @@
 package com.netcracker.metsko.filter;
 
+import com.netcracker.metsko.util.Spans;
+import com.netcracker.metsko.util.TraceContext;
 import com.netflix.zuul.ZuulFilter;
 import com.netflix.zuul.context.RequestContext;
-import org.apache.log4j.LogManager;
-import org.apache.log4j.Logger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import javax.servlet.http.HttpServletRequest;
 
+import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.SEND_RESPONSE_FILTER_ORDER;
+import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.SERVICE_ID_KEY;
+
+/**
+ * Once the response has been sent, records the gateway span and writes the access log line
+ * through the asynchronous "access" logger.
+ */
 @Component
 public class LoggerFilter extends ZuulFilter {
 
-    private static final Logger LOGGER = LogManager.getLogger(LoggerFilter.class);
+    private static final Logger LOGGER = LoggerFactory.getLogger("access");
 
     @Override
     public String filterType() {
-        return "pre";
+        return "post";
     }
 
     @Override
     public int filterOrder() {
-        return 1;
+        return SEND_RESPONSE_FILTER_ORDER + 1;
     }
 
     @Override
     public boolean shouldFilter() {
-        return true;
+        return RequestContext.getCurrentContext().containsKey(TraceFilter.START_KEY);
     }
 
     @Override
     public Object run() {
         RequestContext ctx = RequestContext.getCurrentContext();
         HttpServletRequest request = ctx.getRequest();
-        LOGGER.info(String.format("%s request to %s", request.getMethod(), request.getRequestURL().toString()));
+        long latency = System.nanoTime() - (Long) ctx.get(TraceFilter.START_KEY);
+        TraceContext span = (TraceContext) ctx.get(TraceFilter.SPAN_KEY);
+        Object upstream = ctx.get(SERVICE_ID_KEY);
+        Spans.export(span, "server", request.getMethod() + " " + upstream, latency, ctx.getResponseStatusCode());
+        if (Boolean.TRUE.equals(ctx.get(TraceFilter.SAMPLED_KEY))) {
+            LOGGER.info("method={} path={} status={} latencyMs={} upstream={} traceId={}", request.getMethod(),
+                    request.getRequestURI(), ctx.getResponseStatusCode(), latency / 1_000_000, upstream, span.getTraceId());
+        }
         return null;
     }
 }
@@ -0,0 +1,52 @@
+package com.netcracker.metsko.filter;
+
+import com.netcracker.metsko.util.TraceContext;
+import com.netflix.zuul.ZuulFilter;
+import com.netflix.zuul.context.RequestContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Opens the gateway span: continues the client's traceparent or starts a new trace, and forwards
+ * the span downstream. Also stamps the start time for {@link LoggerFilter}.
+ */
+@Component
+public class TraceFilter extends ZuulFilter {
+
+    static final String START_KEY = "accessLogStart";
+
+    static final String SPAN_KEY = "traceSpan";
+
+    static final String SAMPLED_KEY = "accessLogSampled";
+
+    @Value("${access-log.sample-rate:1.0}")
+    private double sampleRate;
+
+    @Override
+    public String filterType() {
+        return "pre";
+    }
+
+    @Override
+    public int filterOrder() {
+        return 0;
+    }
+
+    @Override
+    public boolean shouldFilter() {
+        return true;
+    }
+
+    @Override
+    public Object run() {
+        RequestContext ctx = RequestContext.getCurrentContext();
+        TraceContext span = TraceContext.childOf(ctx.getRequest().getHeader(TraceContext.HEADER));
+        ctx.set(START_KEY, System.nanoTime());
+        ctx.set(SPAN_KEY, span);
+        ctx.set(SAMPLED_KEY, sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+        ctx.addZuulRequestHeader(TraceContext.HEADER, span.header());
+        return null;
+    }
+}
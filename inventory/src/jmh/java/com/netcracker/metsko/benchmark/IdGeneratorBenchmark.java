@@ -0,0 +1,91 @@
+package com.netcracker.metsko.benchmark;
+
+import com.netcracker.metsko.InventoryApplication;
+import com.netcracker.metsko.entity.Order;
+import com.netcracker.metsko.entity.OrderItem;
+import com.netcracker.metsko.entity.enums.Status;
+import com.netcracker.metsko.exception.NotCreatedException;
+import com.netcracker.metsko.exception.NotFoundException;
+import com.netcracker.metsko.exception.NotUpdatedException;
+import com.netcracker.metsko.service.OrderService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds single items through OrderService.addOrderItem under both id strategies. "auto" sets
+ * order_item_seq to an increment of 1, which is what GenerationType.AUTO did: one sequence call
+ * per item. "pooledLo" keeps the mapped blocks of 50. Items are spread over many orders so no
+ * item list grows long enough to dominate. The prepared statements per item are printed at tear down.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    private static final int ORDERS = 2000;
+
+    @Param({"auto", "pooledLo"})
+    private String idGenerator;
+
+    private ConfigurableApplicationContext context;
+
+    private OrderService orderService;
+
+    private Statistics statistics;
+
+    private List<Long> orderIds;
+
+    private long added;
+
+    @Setup
+    public void setUp() throws SQLException, NotCreatedException {
+        List<String> args = new ArrayList<>();
+        args.add("--spring.profiles.active=container");
+        args.add("--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        args.add("--spring.datasource.username=sa");
+        args.add("--spring.datasource.password=sa");
+        args.add("--spring.jpa.hibernate.ddl-auto=create");
+        args.add("--server.port=0");
+        args.add("--flyway.enabled=false");
+        args.add("--eureka.client.enabled=false");
+        if ("auto".equals(idGenerator)) {
+            args.add("--spring.jpa.properties.hibernate.id.increment_size.order_item_seq=1");
+        }
+        context = new SpringApplicationBuilder(InventoryApplication.class).run(args.toArray(new String[0]));
+        orderService = context.getBean(OrderService.class);
+        orderIds = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order("customer" + i + "@mail.com", Status.EMPTY);
+            orderService.createOrder(order);
+            orderIds.add(order.getId());
+        }
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.println();
+        System.out.println(idGenerator + ": " + (double) statistics.getPrepareStatementCount() / Math.max(added, 1)
+                + " prepared statements per added item");
+        context.close();
+    }
+
+    @Benchmark
+    public Order addOrderItem() throws SQLException, NotUpdatedException, NotFoundException {
+        long n = added++;
+        return orderService.addOrderItem(orderIds.get((int) (n % ORDERS)), new OrderItem("Item" + n, "item " + n, n % 100 + 0.99, null));
+    }
+}
@@ -0,0 +1,54 @@
+package com.netcracker.metsko.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netcracker.metsko.entity.Order;
+import com.netcracker.metsko.entity.OrderItem;
+import com.netcracker.metsko.entity.enums.Status;
+import com.netcracker.metsko.mapper.OrderMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes an order with 1, 100 and 10k items, both as the entity and through OrderDTO.
+ * Totals are kept by addOrderItem, so neither path walks the item list more than once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderSerializationBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int items;
+
+    private ObjectMapper objectMapper;
+
+    private OrderMapper orderMapper;
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        orderMapper = new OrderMapper();
+        order = new Order("customer@mail.com", Status.EMPTY);
+        for (int i = 0; i < items; i++) {
+            order.addOrderItem(new OrderItem("Item" + i, "item " + i, i % 100 + 0.99, null));
+        }
+    }
+
+    @Benchmark
+    public byte[] entity() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] dto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orderMapper.toDTO(order));
+    }
+}
@@ -1,14 +1,37 @@
 package com.netcracker.metsko.config;
 
-import org.modelmapper.ModelMapper;
-import org.springframework.context.annotation.Bean;
+import com.netcracker.metsko.interceptor.LoggerInterceptor;
+import com.netcracker.metsko.interceptor.StatisticsInterceptor;
+import com.netcracker.metsko.util.SmileHttpMessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
+
+import java.util.List;
 
 @Configuration
-public class WebConfig {
+public class WebConfig extends WebMvcConfigurerAdapter {
+
+    @Autowired
+    private LoggerInterceptor loggerInterceptor;
+
+    @Autowired
+    private StatisticsInterceptor statisticsInterceptor;
+
+    @Autowired
+    private Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(loggerInterceptor);
+        registry.addInterceptor(statisticsInterceptor);
+    }
 
-    @Bean
-    public ModelMapper modelMapper() {
-        return new ModelMapper();
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new SmileHttpMessageConverter(objectMapperBuilder));
     }
 }
@@ -1,6 +1,7 @@
 package com.netcracker.metsko.controller;
 
 import com.netcracker.metsko.entity.ErrorMessage;
+import com.netcracker.metsko.exception.NotAddedException;
 import com.netcracker.metsko.exception.NotCreatedException;
 import com.netcracker.metsko.exception.NotDeletedException;
 import com.netcracker.metsko.exception.NotFoundException;
@@ -41,4 +42,10 @@ public class ControllerAdviser {
         return new ResponseEntity<ErrorMessage>(errorMessage, HttpStatus.OK);
     }
 
+    @ExceptionHandler(NotAddedException.class)
+    public ResponseEntity<ErrorMessage> handlerNotAddedException() {
+        ErrorMessage errorMessage = new ErrorMessage(409, "Not added");
+        return new ResponseEntity<ErrorMessage>(errorMessage, HttpStatus.CONFLICT);
+    }
+
 }
@@ -1,29 +1,34 @@
 package com.netcracker.metsko.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.netcracker.metsko.entity.ExceptionMessage;
 import com.netcracker.metsko.entity.Order;
 import com.netcracker.metsko.entity.OrderItem;
 import com.netcracker.metsko.entity.dto.OrderDTO;
 import com.netcracker.metsko.entity.dto.OrderItemDTO;
 import com.netcracker.metsko.entity.enums.Status;
+import com.netcracker.metsko.exception.NotAddedException;
 import com.netcracker.metsko.exception.NotCreatedException;
 import com.netcracker.metsko.exception.NotDeletedException;
 import com.netcracker.metsko.exception.NotFoundException;
 import com.netcracker.metsko.exception.NotUpdatedException;
+import com.netcracker.metsko.mapper.OrderMapper;
 import com.netcracker.metsko.service.OrderService;
+import com.netcracker.metsko.util.NdjsonWriter;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
+import java.io.IOException;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -37,7 +42,10 @@ public class OrderController {
     private OrderService orderService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
 
     public OrderController() {
     }
@@ -52,9 +60,9 @@ public class OrderController {
     })
     public ResponseEntity<OrderDTO> createOrder( @RequestBody String customerEmail) throws NotCreatedException, SQLException {
         try{
-            Order order = new Order(customerEmail, String.valueOf(Status.EMPTY));
+            Order order = new Order(customerEmail, Status.EMPTY);
             orderService.createOrder(order);
-            OrderDTO dto = modelMapper.map(order, OrderDTO.class);
+            OrderDTO dto = orderMapper.toDTO(order);
             return new ResponseEntity<>(dto, HttpStatus.CREATED);
         } catch (Exception e){
             throw new NotCreatedException(ExceptionMessage.NULL_FIELDS);
@@ -64,7 +72,7 @@ public class OrderController {
     @GetMapping
     @ApiOperation(httpMethod = "GET",
             value = "Find all orders",
-            response = Order.class,
+            response = OrderDTO.class,
             nickname = "findAll",
             responseContainer = "List")
     @ApiResponses(value = {
@@ -72,15 +80,29 @@ public class OrderController {
             @ApiResponse(code = 404, message = "Orders not found"),
             @ApiResponse(code = 500, message = "Error")
     })
-    public ResponseEntity<List<Order>> findAll() throws SQLException, NotFoundException {
+    public ResponseEntity<List<OrderDTO>> findAll(@RequestParam(value = "after", required = false) Long after,
+                                               @RequestParam(value = "limit", defaultValue = "100") int limit) throws SQLException, NotFoundException {
         try {
-            List<Order> orderList = orderService.findAll();
-            return new ResponseEntity<>(orderList, HttpStatus.OK);
+            List<Order> orderList = after == null ? orderService.findAll() : orderService.findPage(after, limit);
+            return new ResponseEntity<>(orderMapper.toDTOList(orderList), HttpStatus.OK);
         } catch (Exception e) {
             throw new NotFoundException(ExceptionMessage.NOT_FOUND);
         }
     }
 
+    @GetMapping(params = "stream=true")
+    @ApiOperation(httpMethod = "GET",
+            value = "Stream all orders as NDJSON",
+            response = OrderDTO.class,
+            nickname = "streamAll",
+            produces = NdjsonWriter.MEDIA_TYPE)
+    public void streamAll(HttpServletResponse response) throws SQLException, IOException {
+        response.setContentType(NdjsonWriter.MEDIA_TYPE);
+        try (NdjsonWriter<OrderDTO> writer = new NdjsonWriter<>(objectMapper, response.getOutputStream())) {
+            orderService.streamAll(order -> writer.accept(orderMapper.toDTO(order)));
+        }
+    }
+
     @GetMapping(value = "/orders")
     @ApiOperation(httpMethod = "GET",
             value = "Find an order by it's customerEmail",
@@ -94,7 +116,7 @@ public class OrderController {
     public ResponseEntity<List<OrderDTO>> findCustomerOrders(@Size(min=5, max=25) @NotNull @RequestBody String customerEmail) throws NotFoundException, SQLException {
         try {
             List<Order> orderList = orderService.findCustomerOrders(customerEmail);
-            List<OrderDTO> ordersDTO=orderList.stream().map(order -> modelMapper.map(order,OrderDTO.class)).collect(Collectors.toList());
+            List<OrderDTO> ordersDTO=orderMapper.toDTOList(orderList);
             return new ResponseEntity<>(ordersDTO, HttpStatus.OK);
         } catch (Exception e) {
             throw new NotFoundException(ExceptionMessage.NOT_FOUND);
@@ -114,7 +136,7 @@ public class OrderController {
     public ResponseEntity<OrderDTO> findOrderById(@PathVariable("id") Long id) throws NotFoundException, SQLException {
         try {
             Order order = orderService.findOrderById(id);
-            OrderDTO orderDTO = modelMapper.map(order, OrderDTO.class);
+            OrderDTO orderDTO = orderMapper.toDTO(order);
             return new ResponseEntity<>(orderDTO, HttpStatus.OK);
         } catch (Exception e) {
             throw new NotFoundException(ExceptionMessage.NOT_FOUND);
@@ -149,20 +171,44 @@ public class OrderController {
             nickname = "addOrderItem")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "OrderItem added"),
-            @ApiResponse(code = 404, message = "Offer not found"),
+            @ApiResponse(code = 404, message = "Order not found"),
             @ApiResponse(code = 500, message = "Error")
     })
     public ResponseEntity<OrderDTO> addOrderItem(@PathVariable("id") Long id, @Validated @RequestBody OrderItemDTO orderItemDTO) throws NotUpdatedException, SQLException, NotFoundException {
         try{
-            OrderItem orderItem = modelMapper.map(orderItemDTO, OrderItem.class);
+            OrderItem orderItem = orderMapper.toEntity(orderItemDTO);
             Order order = orderService.addOrderItem(id, orderItem);
-            OrderDTO orderDTO = modelMapper.map(order, OrderDTO.class);
+            OrderDTO orderDTO = orderMapper.toDTO(order);
             return new ResponseEntity<>(orderDTO, HttpStatus.OK);
         } catch (Exception e){
             throw new NotUpdatedException(ExceptionMessage.NOT_ADDED);
         }
     }
 
+    @PostMapping(value = "/orders/{id}/orderitems/batch")
+    @ApiOperation(httpMethod = "POST",
+            value = "Add several orderItems to order in one transaction",
+            response = OrderDTO.class,
+            nickname = "addOrderItems")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "OrderItems added"),
+            @ApiResponse(code = 404, message = "Order not found"),
+            @ApiResponse(code = 409, message = "The order does not accept items"),
+            @ApiResponse(code = 500, message = "Error")
+    })
+    public ResponseEntity<OrderDTO> addOrderItems(@PathVariable("id") Long id, @Validated @RequestBody List<OrderItemDTO> orderItemDTOList) throws NotAddedException, SQLException, NotFoundException {
+        try {
+            List<OrderItem> orderItems = orderItemDTOList.stream()
+                    .map(orderMapper::toEntity)
+                    .collect(Collectors.toList());
+            Order order = orderService.addOrderItems(id, orderItems);
+            OrderDTO orderDTO = orderMapper.toDTO(order);
+            return new ResponseEntity<>(orderDTO, HttpStatus.OK);
+        } catch (NotUpdatedException | Exception e) {
+            throw new NotAddedException(ExceptionMessage.NOT_ADDED);
+        }
+    }
+
     @DeleteMapping(value = "/orders/{id}/orderitems")
     @ApiOperation(httpMethod = "DELETE",
             value = "Remove an orderItem from order",
@@ -176,7 +222,7 @@ public class OrderController {
     public ResponseEntity<OrderDTO> removeOrderItem(@PathVariable("id") Long id, @RequestBody Long orderItemId) throws NotUpdatedException, SQLException {
         try {
             Order order = orderService.removeOrderItem(id, orderItemId);
-            OrderDTO orderDTO = modelMapper.map(order, OrderDTO.class);
+            OrderDTO orderDTO = orderMapper.toDTO(order);
             return new ResponseEntity<>(orderDTO, HttpStatus.OK);
         } catch (Exception e) {
             throw new NotUpdatedException(ExceptionMessage.NOT_UPDATED);
@@ -215,7 +261,7 @@ public class OrderController {
     public ResponseEntity<OrderDTO> cancelOrder(@PathVariable("id") Long id) throws NotDeletedException, SQLException, NotUpdatedException {
         try {
             Order order = orderService.cancelOrder(id);
-            OrderDTO orderDTO = modelMapper.map(order, OrderDTO.class);
+            OrderDTO orderDTO = orderMapper.toDTO(order);
             return new ResponseEntity<>(orderDTO, HttpStatus.OK);
         } catch (Exception e) {
             throw new NotDeletedException(ExceptionMessage.NOT_DELETED);
@@ -232,10 +278,14 @@ public class OrderController {
             @ApiResponse(code = 404, message = "Paid orders not found"),
             @ApiResponse(code = 500, message = "Error")
     })
-    public ResponseEntity<List<OrderDTO>> getOrdersByPayment(@RequestParam("signPayment") boolean signPayment) throws NotFoundException, SQLException {
+    public ResponseEntity<List<OrderDTO>> getOrdersByPayment(@RequestParam("signPayment") boolean signPayment,
+                                                             @RequestParam(value = "items", defaultValue = "false") boolean items) throws NotFoundException, SQLException {
         try {
+            if (!items) {
+                return new ResponseEntity<>(orderService.findOrderSummariesByPayment(signPayment), HttpStatus.FOUND);
+            }
             List<Order> orders = orderService.getOrdersByPayment(signPayment);
-            List<OrderDTO> ordersDTO = orders.stream().map(order -> modelMapper.map(order, OrderDTO.class)).collect(Collectors.toList());
+            List<OrderDTO> ordersDTO = orderMapper.toDTOList(orders);
             return new ResponseEntity<>(ordersDTO, HttpStatus.FOUND);
         } catch (Exception e) {
             throw new NotFoundException(ExceptionMessage.NOT_FOUND);
@@ -244,10 +294,14 @@ public class OrderController {
 
 
     @GetMapping(value = "/orders/status/{status}")
-    public ResponseEntity<List<OrderDTO>> findOrdersByStatus(@PathVariable("status") String status) throws NotFoundException, SQLException {
+    public ResponseEntity<List<OrderDTO>> findOrdersByStatus(@PathVariable("status") String status,
+                                                             @RequestParam(value = "items", defaultValue = "false") boolean items) throws NotFoundException, SQLException {
         try {
+            if (!items) {
+                return new ResponseEntity<>(orderService.findOrderSummariesByStatus(status), HttpStatus.OK);
+            }
             List<Order> orders = orderService.findOrdersByStatus(status);
-            List<OrderDTO> ordersDTO = orders.stream().map(order -> modelMapper.map(order, OrderDTO.class)).collect(Collectors.toList());
+            List<OrderDTO> ordersDTO = orderMapper.toDTOList(orders);
             return new ResponseEntity<>(ordersDTO, HttpStatus.OK);
         } catch (Exception e) {
             throw new NotFoundException(ExceptionMessage.NOT_FOUND);
@@ -286,7 +340,7 @@ public class OrderController {
     public ResponseEntity<OrderDTO> payForOrder(@PathVariable("id") Long id) throws SQLException, NotUpdatedException{
         try {
             Order order = orderService.payForOrder(id);
-            OrderDTO orderDTO = modelMapper.map(order, OrderDTO.class);
+            OrderDTO orderDTO = orderMapper.toDTO(order);
             return new ResponseEntity<>(orderDTO, HttpStatus.OK);
         }catch (Exception e){
             throw new NotUpdatedException("The order is not paid.");
@@ -2,9 +2,13 @@ package com.netcracker.metsko.dao;
 
 
 import com.netcracker.metsko.entity.Order;
+import com.netcracker.metsko.entity.dto.OrderDTO;
+import com.netcracker.metsko.entity.enums.Status;
 import com.netcracker.metsko.exception.NotFoundException;
 
+import java.math.BigDecimal;
 import java.sql.SQLException;
+import java.time.LocalDate;
 import java.util.List;
 
 public interface OrderDao extends GenericDao<Order, Long> {
@@ -15,5 +19,13 @@ public interface OrderDao extends GenericDao<Order, Long> {
 
     List<Order> getOrdersByPayment(boolean signPayment)throws SQLException, NotFoundException;
 
-    List<Order> findOrdersByStatus(String status) throws SQLException, NotFoundException;
+    List<Order> findOrdersByStatus(Status status) throws SQLException, NotFoundException;
+
+    List<OrderDTO> findSummariesByPayment(boolean signPayment) throws SQLException;
+
+    List<OrderDTO> findSummariesByStatus(Status status) throws SQLException;
+
+    BigDecimal sumItemPrices(long orderId) throws SQLException;
+
+    int markPaid(long orderId, LocalDate paymentDate) throws SQLException;
 }
@@ -2,10 +2,15 @@ package com.netcracker.metsko.dao.implementation;
 
 import com.netcracker.metsko.dao.OrderDao;
 import com.netcracker.metsko.entity.Order;
+import com.netcracker.metsko.entity.dto.OrderDTO;
+import com.netcracker.metsko.entity.enums.Status;
 import com.netcracker.metsko.exception.NotFoundException;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collections;
 import java.util.List;
 
 @Repository
@@ -17,22 +22,83 @@ public class OrderDaoImpl extends GenericDaoImpl<Order, Long> implements OrderDa
 
     @Override
     public List<Order> findAll() throws SQLException {
-        return entityManager.createQuery("select io from InvOrder  io", Order.class).getResultList();
+        return entityManager.createNamedQuery("Order.findAll", Order.class).getResultList();
+    }
+
+    // the ids come first, so setMaxResults never has to page over fetched item rows in memory
+    @Override
+    public List<Order> findPage(long afterId, int limit) throws SQLException {
+        List<Long> ids = entityManager.createNamedQuery("Order.findPageIds", Long.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(Math.max(1, Math.min(limit, MAX_PAGE_SIZE)))
+                .getResultList();
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return entityManager.createNamedQuery("Order.findByIdsWithItems", Order.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    @Override
+    protected String scrollQuery() {
+        return "select io from InvOrder io left join fetch io.orderItemList order by io.id";
     }
 
     @Override
     public List<Order> findCustomerOrders(String email) throws SQLException {
-        return entityManager.createQuery("select io from InvOrder io where io.customerEmail = '" + email + "'", Order.class).getResultList();
+        return entityManager.createNamedQuery("Order.findByCustomerEmail", Order.class)
+                .setParameter("email", email)
+                .getResultList();
     }
 
     @Override
     public List<Order> getOrdersByPayment(boolean signPayment) throws SQLException, NotFoundException {
-        return entityManager.createQuery("select io from InvOrder io where io.signPayment="+signPayment, Order.class).getResultList();
+        return entityManager.createNamedQuery("Order.findByPayment", Order.class)
+                .setParameter("signPayment", signPayment)
+                .getResultList();
+    }
+
+    @Override
+    public List<Order> findOrdersByStatus(Status status) throws SQLException, NotFoundException {
+        return entityManager.createNamedQuery("Order.findByStatus", Order.class)
+                .setParameter("status", status)
+                .getResultList();
+    }
+
+    @Override
+    public List<OrderDTO> findSummariesByPayment(boolean signPayment) throws SQLException {
+        return entityManager.createNamedQuery("Order.findSummariesByPayment", OrderDTO.class)
+                .setParameter("signPayment", signPayment)
+                .getResultList();
+    }
+
+    @Override
+    public List<OrderDTO> findSummariesByStatus(Status status) throws SQLException {
+        return entityManager.createNamedQuery("Order.findSummariesByStatus", OrderDTO.class)
+                .setParameter("status", status)
+                .getResultList();
+    }
+
+    @Override
+    public BigDecimal sumItemPrices(long orderId) throws SQLException {
+        return entityManager.createNamedQuery("Order.sumItemPrices", BigDecimal.class)
+                .setParameter("id", orderId)
+                .getSingleResult();
     }
 
     @Override
-    public List<Order> findOrdersByStatus(String status) throws SQLException, NotFoundException {
-        return entityManager.createQuery("select io from InvOrder io where io.status='"+status+"'", Order.class).getResultList();
+    public int markPaid(long orderId, LocalDate paymentDate) throws SQLException {
+        int updated = entityManager.createNamedQuery("Order.markPaid")
+                .setParameter("target", Status.ACTIVE)
+                .setParameter("paymentDate", paymentDate)
+                .setParameter("dataOfCompletion", paymentDate.plusYears(1))
+                .setParameter("id", orderId)
+                .setParameter("expected", Status.PENDING)
+                .executeUpdate();
+        // the bulk update bypasses the persistence context, so a managed copy of the order would be stale
+        entityManager.clear();
+        return updated;
     }
 
 }
@@ -5,21 +5,49 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.netcracker.metsko.entity.enums.Status;
 import com.netcracker.metsko.util.LocalDateDeserializer;
 import com.netcracker.metsko.util.LocalDateSerializer;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.validator.constraints.Email;
 
 import javax.persistence.*;
 import javax.validation.constraints.Size;
+import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Random;
 
 @Entity(name = "InvOrder")
+@NamedQueries({
+        @NamedQuery(name = "Order.findAll", query = "select distinct io from InvOrder io left join fetch io.orderItemList"),
+        @NamedQuery(name = "Order.findPageIds", query = "select io.id from InvOrder io where io.id > :afterId order by io.id"),
+        @NamedQuery(name = "Order.findByIdsWithItems",
+                query = "select distinct io from InvOrder io left join fetch io.orderItemList where io.id in :ids order by io.id"),
+        @NamedQuery(name = "Order.findByCustomerEmail", query = "select io from InvOrder io where io.customerEmail = :email"),
+        @NamedQuery(name = "Order.findByPayment", query = "select io from InvOrder io where io.signPayment = :signPayment"),
+        @NamedQuery(name = "Order.findByStatus", query = "select io from InvOrder io where io.status = :status"),
+        @NamedQuery(name = "Order.findSummariesByPayment", query = "select new com.netcracker.metsko.entity.dto.OrderDTO("
+                + "io.id, io.name, io.customerEmail, io.dataOfCreation, io.totalPrice, io.itemAmount, io.status) "
+                + "from InvOrder io where io.signPayment = :signPayment"),
+        @NamedQuery(name = "Order.findSummariesByStatus", query = "select new com.netcracker.metsko.entity.dto.OrderDTO("
+                + "io.id, io.name, io.customerEmail, io.dataOfCreation, io.totalPrice, io.itemAmount, io.status) "
+                + "from InvOrder io where io.status = :status"),
+        @NamedQuery(name = "Order.sumItemPrices",
+                query = "select coalesce(sum(cast(oi.price as big_decimal)), 0) from InvOrder io left join io.orderItemList oi where io.id = :id group by io.id"),
+        @NamedQuery(name = "Order.markPaid", query = "update InvOrder io set io.status = :target, io.signPayment = true, "
+                + "io.paymentDate = :paymentDate, io.dataOfCompletion = :dataOfCompletion, io.version = io.version + 1 "
+                + "where io.id = :id and io.status = :expected")
+})
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "order_seq")
+    @GenericGenerator(name = "order_seq", strategy = "com.netcracker.metsko.util.PooledSequenceGenerator",
+            parameters = {
+                    @Parameter(name = "sequence_name", value = "order_seq"),
+                    @Parameter(name = "increment_size", value = "20")
+            })
     private long id;
 
     @Column
@@ -43,8 +71,8 @@ public class Order {
     @OneToMany(cascade = CascadeType.ALL)
     private List<OrderItem> orderItemList;
 
-    @Column
-    private double totalPrice;
+    @Column(precision = 19, scale = 2)
+    private BigDecimal totalPrice = BigDecimal.ZERO;
 
     @Column
     private int itemAmount;
@@ -57,27 +85,31 @@ public class Order {
     @JsonSerialize(using = LocalDateSerializer.class)
     private LocalDate paymentDate;
 
-    @Column
-    private String status;
+    @Version
+    private long version;
+
+    @Column(columnDefinition = "int2")
+    @Enumerated(EnumType.ORDINAL)
+    private Status status;
 
     public Order() {
     }
 
-    public Order(String customerEmail, String status) {
+    public Order(String customerEmail, Status status) {
         this.name = "Order#" + getNumber();
         this.dataOfCreation = LocalDate.now();
         this.customerEmail = customerEmail;
         this.dataOfCompletion = null;
-        this.orderItemList = Collections.EMPTY_LIST;
-        this.totalPrice = 0;
+        this.orderItemList = new ArrayList<>();
+        this.totalPrice = BigDecimal.ZERO;
         this.itemAmount = 0;
         this.paymentDate = null;
         this.status = status;
     }
 
     public Order(String name, LocalDate dataOfOrder, LocalDate dataOfCompletion,
-                 String customerEmail, List<OrderItem> orderItemList, double totalPrice,
-                 int itemAmount, LocalDate paymentDate, String status) {
+                 String customerEmail, List<OrderItem> orderItemList, BigDecimal totalPrice,
+                 int itemAmount, LocalDate paymentDate, Status status) {
         this.name = name;
         this.dataOfCreation = dataOfOrder;
         this.dataOfCompletion = dataOfCompletion;
@@ -137,28 +169,14 @@ public class Order {
         this.orderItemList = orderItemList;
     }
 
-    public double getTotalPrice() {
-        this.totalPrice = orderItemList.stream().mapToDouble(OrderItem::getPrice).sum();
+    public BigDecimal getTotalPrice() {
         return totalPrice;
     }
 
-    public void setTotalPrice(double totalPrice) {
-        this.totalPrice = totalPrice;
-    }
-
     public int getItemAmount() {
-        this.itemAmount = orderItemList.size();
         return itemAmount;
     }
 
-    public void setItemAmount(int itemAmount) {
-        this.itemAmount = itemAmount;
-    }
-
-    private void setItemAmount() {
-        this.itemAmount = orderItemList.size();
-    }
-
     public boolean getSignPayment() {
         return signPayment;
     }
@@ -175,29 +193,32 @@ public class Order {
         this.paymentDate = paymentDate;
     }
 
-    public String getStatus() {
+    public Status getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(Status status) {
         this.status = status;
     }
 
     public void addOrderItem(OrderItem orderItem) {
-        if (!this.status.equals(String.valueOf(Status.CANCELED))) {
+        if (this.status.canTransitionTo(Status.PENDING)) {
             this.orderItemList.add(orderItem);
             orderItem.setOrder(this);
-            this.setItemAmount();
-            this.totalPrice = totalPrice + orderItem.getPrice();
-            this.status = String.valueOf(Status.PENDING);
+            this.itemAmount++;
+            this.totalPrice = totalPrice.add(BigDecimal.valueOf(orderItem.getPrice()));
+            this.status = Status.PENDING;
         } else {
             System.out.println(getName() + " canceled\n");
         }
     }
 
     public void removeOrderItem(OrderItem orderItem) {
-        if (this.status.equals(String.valueOf(Status.PENDING))) {
-            this.orderItemList.remove(orderItem);
+        if (this.status.canTransitionTo(Status.EMPTY)) {
+            if (this.orderItemList.remove(orderItem)) {
+                this.itemAmount--;
+                this.totalPrice = totalPrice.subtract(BigDecimal.valueOf(orderItem.getPrice()));
+            }
         } else System.out.println(getName() + " canceled\n");
 
     }
@@ -209,21 +230,18 @@ public class Order {
         if (!(object instanceof Order)) return false;
         Order order = (Order) object;
         return getId() == order.getId() &&
-                Double.compare(order.getTotalPrice(), getTotalPrice()) == 0 &&
-                getItemAmount() == order.getItemAmount() &&
                 getSignPayment() == order.getSignPayment() &&
                 Objects.equals(getName(), order.getName()) &&
                 Objects.equals(getDataOfCreation(), order.getDataOfCreation()) &&
                 Objects.equals(getDataOfCompletion(), order.getDataOfCompletion()) &&
                 Objects.equals(getCustomerEmail(), order.getCustomerEmail()) &&
-                Objects.equals(getOrderItemList(), order.getOrderItemList()) &&
                 Objects.equals(getPaymentDate(), order.getPaymentDate()) &&
-                Objects.equals(getStatus(), order.getStatus());
+                getStatus() == order.getStatus();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getId(), getName(), getDataOfCreation(), getDataOfCompletion(), getCustomerEmail(), getOrderItemList(), getTotalPrice(), getItemAmount(), getSignPayment(), getPaymentDate(), getStatus());
+        return Objects.hash(getId(), getName(), getDataOfCreation(), getDataOfCompletion(), getCustomerEmail(), getSignPayment(), getPaymentDate(), getStatus());
     }
 
     @Override
@@ -234,12 +252,11 @@ public class Order {
         sb.append(", dataOfCreation=").append(dataOfCreation);
         sb.append(", dataOfCompletion=").append(dataOfCompletion);
         sb.append(", customerEmail='").append(customerEmail).append('\'');
-        sb.append(", orderItemList=").append(orderItemList);
         sb.append(", totalPrice=").append(totalPrice);
         sb.append(", itemAmount=").append(itemAmount);
         sb.append(", signPayment=").append(signPayment);
         sb.append(", paymentDate=").append(paymentDate);
-        sb.append(", status='").append(status).append('\'');
+        sb.append(", status=").append(status);
         sb.append('}');
         return sb.toString();
     }
@@ -1,8 +1,14 @@
 package com.netcracker.metsko.entity.dto;
 
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.netcracker.metsko.entity.enums.Status;
+import com.netcracker.metsko.util.LocalDateDeserializer;
+import com.netcracker.metsko.util.LocalDateSerializer;
 import lombok.Data;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -16,6 +22,8 @@ public class OrderDTO {
 
     private String customerEmail;
 
+    @JsonDeserialize(using = LocalDateDeserializer.class)
+    @JsonSerialize(using = LocalDateSerializer.class)
     private LocalDate dataOfCreation;
 
     private double totalPrice;
@@ -26,6 +34,20 @@ public class OrderDTO {
 
     private List<OrderItemDTO> orderItemList;
 
+    public OrderDTO() {
+    }
+
+    public OrderDTO(Long id, String name, String customerEmail, LocalDate dataOfCreation,
+                    BigDecimal totalPrice, int itemAmount, Status status) {
+        this.id = id;
+        this.name = name;
+        this.customerEmail = customerEmail;
+        this.dataOfCreation = dataOfCreation;
+        this.totalPrice = totalPrice == null ? 0 : totalPrice.doubleValue();
+        this.itemAmount = itemAmount;
+        this.status = status == null ? null : status.name();
+    }
+
     public Long getId() {
         return id;
     }
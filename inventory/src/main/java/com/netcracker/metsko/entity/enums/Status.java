@@ -1,10 +1,34 @@
 package com.netcracker.metsko.entity.enums;
 
+/**
+ * Order status, stored by ordinal: never reorder the constants, only append new ones.
+ */
 public enum Status {
 
     PENDING,
     ACTIVE,
     CANCELED,
     TERMINATED,
-    EMPTY
+    EMPTY;
+
+    private static final boolean[][] TRANSITIONS = new boolean[values().length][values().length];
+
+    static {
+        allow(EMPTY, PENDING);
+        allow(PENDING, PENDING);
+        allow(PENDING, EMPTY);
+        allow(PENDING, ACTIVE);
+        allow(ACTIVE, TERMINATED);
+        for (Status status : values()) {
+            allow(status, CANCELED);
+        }
+    }
+
+    private static void allow(Status from, Status to) {
+        TRANSITIONS[from.ordinal()][to.ordinal()] = true;
+    }
+
+    public boolean canTransitionTo(Status target) {
+        return TRANSITIONS[ordinal()][target.ordinal()];
+    }
 }
@@ -0,0 +1,14 @@
+package com.netcracker.metsko.exception;
+
+public class NotAddedException extends Throwable {
+
+    private String message;
+
+    public NotAddedException() {
+    }
+
+    public NotAddedException(String message) {
+        this.message = message;
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.netcracker.metsko.mapper;
+
+import com.netcracker.metsko.entity.Order;
+import com.netcracker.metsko.entity.OrderItem;
+import com.netcracker.metsko.entity.dto.OrderDTO;
+import com.netcracker.metsko.entity.dto.OrderItemDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts orders and order items to and from their DTOs without reflection.
+ */
+@Component
+public class OrderMapper {
+
+    public OrderDTO toDTO(Order order) {
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.setId(order.getId());
+        orderDTO.setName(order.getName());
+        orderDTO.setCustomerEmail(order.getCustomerEmail());
+        orderDTO.setDataOfCreation(order.getDataOfCreation());
+        orderDTO.setTotalPrice(order.getTotalPrice() == null ? 0 : order.getTotalPrice().doubleValue());
+        orderDTO.setItemAmount(order.getItemAmount());
+        orderDTO.setStatus(order.getStatus() == null ? null : order.getStatus().name());
+        if (order.getOrderItemList() != null) {
+            List<OrderItemDTO> orderItemDTOList = new ArrayList<>(order.getOrderItemList().size());
+            for (OrderItem orderItem : order.getOrderItemList()) {
+                orderItemDTOList.add(toDTO(orderItem));
+            }
+            orderDTO.setOrderItemList(orderItemDTOList);
+        }
+        return orderDTO;
+    }
+
+    public List<OrderDTO> toDTOList(List<Order> orders) {
+        List<OrderDTO> orderDTOList = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            orderDTOList.add(toDTO(order));
+        }
+        return orderDTOList;
+    }
+
+    public OrderItemDTO toDTO(OrderItem orderItem) {
+        OrderItemDTO orderItemDTO = new OrderItemDTO();
+        orderItemDTO.setId(orderItem.getId());
+        orderItemDTO.setName(orderItem.getName());
+        orderItemDTO.setDescription(orderItem.getDescription());
+        orderItemDTO.setPrice(orderItem.getPrice());
+        return orderItemDTO;
+    }
+
+    public OrderItem toEntity(OrderItemDTO orderItemDTO) {
+        return new OrderItem(orderItemDTO.getName(), orderItemDTO.getDescription(), orderItemDTO.getPrice(), null);
+    }
+}
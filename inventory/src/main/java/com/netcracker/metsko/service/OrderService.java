@@ -2,6 +2,7 @@ package com.netcracker.metsko.service;
 
 import com.netcracker.metsko.entity.Order;
 import com.netcracker.metsko.entity.OrderItem;
+import com.netcracker.metsko.entity.dto.OrderDTO;
 import com.netcracker.metsko.exception.NotCreatedException;
 import com.netcracker.metsko.exception.NotDeletedException;
 import com.netcracker.metsko.exception.NotFoundException;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Service;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 public interface OrderService {
@@ -18,6 +20,10 @@ public interface OrderService {
 
     List<Order> findAll() throws SQLException, NotFoundException;
 
+    List<Order> findPage(long afterId, int limit) throws SQLException, NotFoundException;
+
+    void streamAll(Consumer<Order> consumer) throws SQLException;
+
     List<Order> findCustomerOrders(String email) throws SQLException, NotFoundException;
 
     Order findOrderById(Long id) throws SQLException, NotFoundException;
@@ -26,6 +32,8 @@ public interface OrderService {
 
     Order addOrderItem(Long id, OrderItem orderItem) throws SQLException, NotUpdatedException, NotFoundException;
 
+    Order addOrderItems(Long id, List<OrderItem> orderItems) throws SQLException, NotUpdatedException, NotFoundException;
+
     Order removeOrderItem(Long orderId, Long orderItemId) throws SQLException, NotUpdatedException;
 
     void deleteOrder(Long id) throws SQLException, NotDeletedException;
@@ -34,6 +42,10 @@ public interface OrderService {
 
     List<Order> findOrdersByStatus( String status) throws SQLException, NotFoundException;
 
+    List<OrderDTO> findOrderSummariesByPayment(boolean signPayment) throws SQLException, NotFoundException;
+
+    List<OrderDTO> findOrderSummariesByStatus(String status) throws SQLException, NotFoundException;
+
     Double findTotalPrice( Long orderId) throws SQLException, NotFoundException;
 
     Order payForOrder( Long id) throws SQLException, NotUpdatedException;
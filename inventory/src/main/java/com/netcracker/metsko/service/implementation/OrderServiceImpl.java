@@ -5,6 +5,7 @@ import com.netcracker.metsko.dao.OrderItemDao;
 import com.netcracker.metsko.entity.ExceptionMessage;
 import com.netcracker.metsko.entity.Order;
 import com.netcracker.metsko.entity.OrderItem;
+import com.netcracker.metsko.entity.dto.OrderDTO;
 import com.netcracker.metsko.entity.enums.Status;
 import com.netcracker.metsko.exception.NotCreatedException;
 import com.netcracker.metsko.exception.NotDeletedException;
@@ -12,16 +13,26 @@ import com.netcracker.metsko.exception.NotFoundException;
 import com.netcracker.metsko.exception.NotUpdatedException;
 import com.netcracker.metsko.service.OrderService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityNotFoundException;
 import javax.transaction.Transactional;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 public class OrderServiceImpl implements OrderService {
 
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
 
     @Autowired
     private OrderDao orderDao;
@@ -29,6 +40,12 @@ public class OrderServiceImpl implements OrderService {
     @Autowired
     private OrderItemDao orderItemDao;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     public OrderServiceImpl() {
     }
 
@@ -51,6 +68,20 @@ public class OrderServiceImpl implements OrderService {
         }
     }
 
+    @Transactional
+    public List<Order> findPage(long afterId, int limit) throws NotFoundException, SQLException {
+        try {
+            return orderDao.findPage(afterId, limit);
+        } catch (Exception e) {
+            throw new NotFoundException("Orders " + ExceptionMessage.NOT_FOUND);
+        }
+    }
+
+    @Transactional
+    public void streamAll(Consumer<Order> consumer) throws SQLException {
+        orderDao.scrollAll(consumer);
+    }
+
     @Override
     public List<Order> findCustomerOrders(String email) throws SQLException, NotFoundException {
         try {
@@ -81,42 +112,106 @@ public class OrderServiceImpl implements OrderService {
         }
     }
 
-    @Transactional
     public Order addOrderItem(Long id, OrderItem orderItem) throws SQLException, NotUpdatedException, NotFoundException {
+        return addOrderItems(id, Collections.singletonList(orderItem));
+    }
+
+    public Order addOrderItems(Long id, List<OrderItem> orderItems) throws SQLException, NotUpdatedException, NotFoundException {
+        // A failed flush leaves its session unusable, so every attempt gets its own EntityManager
+        // instead of the one open-in-view keeps for the whole request.
+        Object requestEntityManager = TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+        try {
+            return appendWithRetry(id, orderItems);
+        } finally {
+            rebind(requestEntityManager);
+        }
+    }
+
+    private Order appendWithRetry(Long id, List<OrderItem> orderItems) throws NotUpdatedException, NotFoundException {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> appendOrderItems(id, orderItems));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == MAX_UPDATE_ATTEMPTS) {
+                    throw new NotUpdatedException("The Order" + ExceptionMessage.NOT_UPDATED);
+                }
+            } catch (IllegalStateException e) {
+                throw new NotUpdatedException("The Order" + ExceptionMessage.NOT_UPDATED);
+            } catch (Exception e) {
+                throw new NotFoundException("The Order" + ExceptionMessage.NOT_FOUND);
+            }
+        }
+    }
+
+    private Order appendOrderItems(Long id, List<OrderItem> orderItems) {
         try {
             Order order = (Order) orderDao.read(id);
-            if (order.getStatus().equals(String.valueOf(Status.PENDING))
-                    || order.getStatus().equals(String.valueOf(Status.EMPTY))) {
-                orderItemDao.create(orderItem);
-                order.addOrderItem(orderItem);
-                orderItemDao.update(orderItem);
-                return (Order) orderDao.update(order);
-            } else {
-                throw new NotUpdatedException("The order is not suitable.\n");
+            if (order == null) {
+                throw new EntityNotFoundException("The Order" + ExceptionMessage.NOT_FOUND);
             }
-        } catch (Exception e) {
-            throw new NotFoundException(ExceptionMessage.NOT_FOUND);
+            if (!order.getStatus().canTransitionTo(Status.PENDING)) {
+                throw new IllegalStateException("The order is not suitable.");
+            }
+            for (OrderItem orderItem : orderItems) {
+                // a rolled back attempt leaves ids on the items it persisted, so every attempt persists fresh copies
+                OrderItem newItem = new OrderItem(orderItem.getName(), orderItem.getDescription(), orderItem.getPrice(), null);
+                orderItemDao.create(newItem);
+                order.addOrderItem(newItem);
+            }
+            return (Order) orderDao.update(order);
+        } catch (SQLException e) {
+            throw new DataRetrievalFailureException(e.getMessage(), e);
         }
     }
 
-    @Transactional
     public Order removeOrderItem(Long orderId, Long orderItemId) throws SQLException, NotUpdatedException {
+        Object requestEntityManager = TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
         try {
-            Order order = (Order) orderDao.read(orderId);
-            if (order.getStatus().equals(String.valueOf(Status.PENDING))) {
-                orderItemDao.delete(orderItemId);
-                if (order.getItemAmount() == 0) {
-                    order.setStatus(String.valueOf(Status.EMPTY));
+            return detachWithRetry(orderId, orderItemId);
+        } finally {
+            rebind(requestEntityManager);
+        }
+    }
+
+    private Order detachWithRetry(Long orderId, Long orderItemId) throws NotUpdatedException {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> detachOrderItem(orderId, orderItemId));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == MAX_UPDATE_ATTEMPTS) {
+                    throw new NotUpdatedException("OrderItem" + ExceptionMessage.NOT_DELETED);
                 }
-                order.setItemAmount(order.getOrderItemList().size());
-                order.setTotalPrice(order.getOrderItemList().stream().mapToDouble(OrderItem::getPrice).sum());
-                orderDao.update(order);
-                return order;
-            } else {
+            } catch (Exception e) {
                 throw new NotUpdatedException("OrderItem" + ExceptionMessage.NOT_DELETED);
             }
-        } catch (Exception e) {
-            throw new NotUpdatedException("OrderItem" + ExceptionMessage.NOT_DELETED);
+        }
+    }
+
+    private Order detachOrderItem(Long orderId, Long orderItemId) {
+        try {
+            Order order = (Order) orderDao.read(orderId);
+            OrderItem orderItem = (OrderItem) orderItemDao.read(orderItemId);
+            if (order == null || orderItem == null) {
+                throw new EntityNotFoundException("OrderItem" + ExceptionMessage.NOT_FOUND);
+            }
+            Status target = order.getItemAmount() > 1 ? Status.PENDING : Status.EMPTY;
+            if (!order.getStatus().canTransitionTo(target)) {
+                throw new IllegalStateException("The order is not suitable.");
+            }
+            order.removeOrderItem(orderItem);
+            orderItemDao.delete(orderItemId);
+            order.setStatus(target);
+            return (Order) orderDao.update(order);
+        } catch (SQLException e) {
+            throw new DataRetrievalFailureException(e.getMessage(), e);
+        }
+    }
+
+    private void rebind(Object requestEntityManager) {
+        if (requestEntityManager != null) {
+            TransactionSynchronizationManager.bindResource(entityManagerFactory, requestEntityManager);
         }
     }
 
@@ -142,18 +237,35 @@ public class OrderServiceImpl implements OrderService {
     @Override
     public List<Order> findOrdersByStatus(String status) throws SQLException, NotFoundException {
         try {
-            List<Order> order = orderDao.findOrdersByStatus(status.toUpperCase());
+            List<Order> order = orderDao.findOrdersByStatus(Status.valueOf(status.toUpperCase()));
             return order;
         } catch (Exception e) {
             throw new NotFoundException("The orders " + ExceptionMessage.NOT_FOUND);
         }
     }
 
+    @Override
+    public List<OrderDTO> findOrderSummariesByPayment(boolean signPayment) throws SQLException, NotFoundException {
+        try {
+            return orderDao.findSummariesByPayment(signPayment);
+        } catch (Exception e) {
+            throw new NotFoundException("The orders " + ExceptionMessage.NOT_FOUND);
+        }
+    }
+
+    @Override
+    public List<OrderDTO> findOrderSummariesByStatus(String status) throws SQLException, NotFoundException {
+        try {
+            return orderDao.findSummariesByStatus(Status.valueOf(status.toUpperCase()));
+        } catch (Exception e) {
+            throw new NotFoundException("The orders " + ExceptionMessage.NOT_FOUND);
+        }
+    }
+
     @Override
     public Double findTotalPrice(Long orderId) throws SQLException, NotFoundException {
         try {
-            Order order = (Order) orderDao.read(orderId);
-            return order.getTotalPrice();
+            return orderDao.sumItemPrices(orderId).doubleValue();
         } catch (Exception e) {
             throw new NotFoundException("The total price " + ExceptionMessage.NOT_FOUND);
         }
@@ -162,16 +274,10 @@ public class OrderServiceImpl implements OrderService {
     @Transactional
     public Order payForOrder(Long id) throws SQLException, NotUpdatedException {
         try {
-            Order order = (Order) orderDao.read(id);
-            if (order.getStatus().equals(String.valueOf(Status.PENDING))) {
-                order.setSignPayment();
-                order.setPaymentDate(LocalDate.now());
-                order.setDataOfCompletion();
-                order.setStatus(String.valueOf(Status.ACTIVE));
-                return (Order) orderDao.update(order);
-            } else {
+            if (orderDao.markPaid(id, LocalDate.now()) == 0) {
                 throw new NotUpdatedException("The order is not available for paying.");
             }
+            return (Order) orderDao.read(id);
         } catch (Exception e) {
             throw new NotUpdatedException(ExceptionMessage.NOT_UPDATED);
         }
@@ -181,7 +287,10 @@ public class OrderServiceImpl implements OrderService {
     public Order cancelOrder(Long id) throws SQLException, NotUpdatedException {
         try {
             Order order = (Order) orderDao.read(id);
-            order.setStatus(String.valueOf(Status.CANCELED));
+            if (!order.getStatus().canTransitionTo(Status.CANCELED)) {
+                throw new NotUpdatedException("The order can not be canceled.");
+            }
+            order.setStatus(Status.CANCELED);
             return (Order) orderDao.update(order);
         } catch (Exception e) {
             throw new NotUpdatedException(ExceptionMessage.NOT_UPDATED);
@@ -0,0 +1,36 @@
+-- Schema as previously generated by Hibernate. Existing databases are baselined at this version.
+
+create sequence hibernate_sequence start with 1 increment by 1;
+
+create table inv_order (
+    id                 int8 not null,
+    customer_email     varchar(25),
+    data_of_completion date,
+    data_of_creation   date,
+    item_amount        int4,
+    name               varchar(255),
+    payment_date       date,
+    sign_payment       boolean,
+    status             varchar(255),
+    total_price        float8,
+    primary key (id)
+);
+
+create table inv_order_order_item_list (
+    inv_order_id       int8 not null,
+    order_item_list_id int8 not null
+);
+
+create table order_item (
+    id          int8        not null,
+    description varchar(255),
+    name        varchar(20) not null,
+    price       float8,
+    order_id    int8,
+    primary key (id)
+);
+
+alter table inv_order_order_item_list add constraint UK_95npmnc4k7re6oudtg6rkafdx unique (order_item_list_id);
+alter table inv_order_order_item_list add constraint FKj40fghvsxh6kc204imj3gmy6e foreign key (order_item_list_id) references order_item;
+alter table inv_order_order_item_list add constraint FKdrmii6ljp5u7t6r90nn0rmf1i foreign key (inv_order_id) references inv_order;
+alter table order_item add constraint FKt4reflygu36n4uw48w8syyo5h foreign key (order_id) references inv_order;
@@ -0,0 +1,13 @@
+-- Order.findByStatus and the status summary projection.
+create index inv_order_status_idx on inv_order (status);
+
+-- Order.findByCustomerEmail, and customer lookups narrowed by status.
+create index inv_order_customer_email_status_idx on inv_order (customer_email, status);
+
+-- Order.findByPayment and the payment summary projection.
+create index inv_order_sign_payment_idx on inv_order (sign_payment);
+
+-- Loading an order's items and Order.sumItemPrices join through here.
+create index inv_order_order_item_list_order_idx on inv_order_order_item_list (inv_order_id);
+
+create index order_item_order_idx on order_item (order_id);
@@ -0,0 +1,18 @@
+-- Order.status is stored as the Status ordinal: PENDING 0, ACTIVE 1, CANCELED 2, TERMINATED 3, EMPTY 4.
+
+alter table inv_order add column status_code smallint;
+
+update inv_order set status_code = case status
+    when 'PENDING' then 0
+    when 'ACTIVE' then 1
+    when 'CANCELED' then 2
+    when 'TERMINATED' then 3
+    when 'EMPTY' then 4
+end;
+
+-- Dropping the text column also drops the V2 indexes built on it.
+alter table inv_order drop column status;
+alter table inv_order rename column status_code to status;
+
+create index inv_order_status_idx on inv_order (status);
+create index inv_order_customer_email_status_idx on inv_order (customer_email, status);
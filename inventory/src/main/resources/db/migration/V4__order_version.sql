@@ -0,0 +1,2 @@
+-- Optimistic locking for InvOrder.
+alter table inv_order add column version int8 not null default 0;
@@ -0,0 +1,12 @@
+-- One sequence per entity, handing out pooled-lo blocks of the entity's increment_size.
+-- Every sequence starts past the ids hibernate_sequence has already handed out.
+create sequence order_seq increment by 20;
+create sequence order_item_seq increment by 50;
+
+select setval('order_seq', coalesce(max(id), 0) + 1, false) from inv_order;
+select setval('order_item_seq', coalesce(max(id), 0) + 1, false) from order_item;
+
+drop sequence hibernate_sequence;
+
+-- Order.totalPrice is kept as an exact decimal.
+alter table inv_order alter column total_price type numeric(19, 2);
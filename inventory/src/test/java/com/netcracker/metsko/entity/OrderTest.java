@@ -0,0 +1,86 @@
+package com.netcracker.metsko.entity;
+
+import com.netcracker.metsko.entity.enums.Status;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OrderTest {
+
+    private Order order;
+
+    @Before
+    public void setUp() {
+        order = new Order("customer@mail.com", Status.EMPTY);
+    }
+
+    @Test
+    public void addOrderItemKeepsAnExactTotal() {
+        order.addOrderItem(new OrderItem("first", "", 0.1, null));
+        order.addOrderItem(new OrderItem("second", "", 0.2, null));
+
+        assertThat(order.getTotalPrice()).isEqualByComparingTo(new BigDecimal("0.3"));
+        assertThat(order.getItemAmount()).isEqualTo(2);
+        assertThat(order.getStatus()).isEqualTo(Status.PENDING);
+    }
+
+    @Test
+    public void addOrderItemLinksTheItemToTheOrder() {
+        OrderItem item = new OrderItem("first", "", 1.5, null);
+
+        order.addOrderItem(item);
+
+        assertThat(order.getOrderItemList()).containsExactly(item);
+        assertThat(item.getOrder()).isSameAs(order);
+    }
+
+    @Test
+    public void removeOrderItemSubtractsItsPrice() {
+        OrderItem first = new OrderItem("first", "", 0.1, null);
+        order.addOrderItem(first);
+        order.addOrderItem(new OrderItem("second", "", 0.7, null));
+
+        order.removeOrderItem(first);
+
+        assertThat(order.getTotalPrice()).isEqualByComparingTo(new BigDecimal("0.7"));
+        assertThat(order.getItemAmount()).isEqualTo(1);
+    }
+
+    @Test
+    public void removingEveryItemReturnsTheTotalToZero() {
+        OrderItem first = new OrderItem("first", "", 19.99, null);
+        OrderItem second = new OrderItem("second", "", 0.01, null);
+        order.addOrderItem(first);
+        order.addOrderItem(second);
+
+        order.removeOrderItem(second);
+        order.removeOrderItem(first);
+
+        assertThat(order.getTotalPrice()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(order.getItemAmount()).isZero();
+    }
+
+    @Test
+    public void removingAnUnknownItemChangesNothing() {
+        order.addOrderItem(new OrderItem("first", "", 2.5, null));
+
+        order.removeOrderItem(new OrderItem("other", "", 2.5, null));
+
+        assertThat(order.getTotalPrice()).isEqualByComparingTo(new BigDecimal("2.5"));
+        assertThat(order.getItemAmount()).isEqualTo(1);
+    }
+
+    @Test
+    public void canceledOrderIgnoresNewItems() {
+        Order canceled = new Order("customer@mail.com", Status.CANCELED);
+
+        canceled.addOrderItem(new OrderItem("first", "", 3, null));
+
+        assertThat(canceled.getTotalPrice()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(canceled.getItemAmount()).isZero();
+        assertThat(canceled.getStatus()).isEqualTo(Status.CANCELED);
+    }
+}
@@ -0,0 +1,31 @@
+package com.netcracker.metsko.entity.dto;
+
+import com.netcracker.metsko.entity.enums.Status;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OrderDTOTest {
+
+    @Test
+    public void projectionCopiesTheSummary() {
+        OrderDTO orderDTO = new OrderDTO(7L, "Order#7", "customer@mail.com", LocalDate.of(2018, 1, 2),
+                new BigDecimal("10.50"), 3, Status.PENDING);
+
+        assertThat(orderDTO.getId()).isEqualTo(7L);
+        assertThat(orderDTO.getTotalPrice()).isEqualTo(10.5);
+        assertThat(orderDTO.getItemAmount()).isEqualTo(3);
+        assertThat(orderDTO.getStatus()).isEqualTo("PENDING");
+    }
+
+    @Test
+    public void projectionAcceptsRowsWithoutStatusOrTotal() {
+        OrderDTO orderDTO = new OrderDTO(7L, "Order#7", "customer@mail.com", null, null, 0, null);
+
+        assertThat(orderDTO.getStatus()).isNull();
+        assertThat(orderDTO.getTotalPrice()).isZero();
+    }
+}
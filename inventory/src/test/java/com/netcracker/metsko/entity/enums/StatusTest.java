@@ -0,0 +1,47 @@
+package com.netcracker.metsko.entity.enums;
+
+import org.junit.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StatusTest {
+
+    @Test
+    public void emptyOrderOnlyBecomesPendingOrCanceled() {
+        assertThat(targetsOf(Status.EMPTY)).containsOnly(Status.PENDING, Status.CANCELED);
+    }
+
+    @Test
+    public void pendingOrderCanTakeItemsLoseThemBeActivatedOrCanceled() {
+        assertThat(targetsOf(Status.PENDING)).containsOnly(Status.PENDING, Status.EMPTY, Status.ACTIVE, Status.CANCELED);
+    }
+
+    @Test
+    public void activeOrderCanOnlyBeTerminatedOrCanceled() {
+        assertThat(targetsOf(Status.ACTIVE)).containsOnly(Status.TERMINATED, Status.CANCELED);
+    }
+
+    @Test
+    public void finishedOrdersCanOnlyBeCanceled() {
+        assertThat(targetsOf(Status.CANCELED)).containsOnly(Status.CANCELED);
+        assertThat(targetsOf(Status.TERMINATED)).containsOnly(Status.CANCELED);
+    }
+
+    @Test
+    public void ordinalsMatchTheStoredCodes() {
+        assertThat(Status.values()).containsExactly(Status.PENDING, Status.ACTIVE, Status.CANCELED, Status.TERMINATED, Status.EMPTY);
+    }
+
+    private static Set<Status> targetsOf(Status from) {
+        Set<Status> targets = EnumSet.noneOf(Status.class);
+        for (Status to : Status.values()) {
+            if (from.canTransitionTo(to)) {
+                targets.add(to);
+            }
+        }
+        return targets;
+    }
+}
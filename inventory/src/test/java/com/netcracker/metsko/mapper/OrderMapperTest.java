@@ -0,0 +1,72 @@
+package com.netcracker.metsko.mapper;
+
+import com.netcracker.metsko.entity.Order;
+import com.netcracker.metsko.entity.OrderItem;
+import com.netcracker.metsko.entity.dto.OrderDTO;
+import com.netcracker.metsko.entity.dto.OrderItemDTO;
+import com.netcracker.metsko.entity.enums.Status;
+import org.junit.Test;
+import org.modelmapper.ModelMapper;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OrderMapperTest {
+
+    private final OrderMapper orderMapper = new OrderMapper();
+
+    @Test
+    public void toDTOCopiesTotalsStatusAndItems() {
+        Order order = order(0.1, 0.2);
+
+        OrderDTO orderDTO = orderMapper.toDTO(order);
+
+        assertThat(orderDTO.getName()).isEqualTo(order.getName());
+        assertThat(orderDTO.getCustomerEmail()).isEqualTo("customer@mail.com");
+        assertThat(orderDTO.getDataOfCreation()).isEqualTo(order.getDataOfCreation());
+        assertThat(orderDTO.getTotalPrice()).isEqualTo(0.3);
+        assertThat(orderDTO.getItemAmount()).isEqualTo(2);
+        assertThat(orderDTO.getStatus()).isEqualTo("PENDING");
+        assertThat(orderDTO.getOrderItemList()).extracting(OrderItemDTO::getPrice).containsExactly(0.1, 0.2);
+    }
+
+    @Test
+    public void toDTOListKeepsTheOrder() {
+        Order first = order(1);
+        Order second = order(2, 3);
+
+        List<OrderDTO> orderDTOList = orderMapper.toDTOList(Arrays.asList(first, second));
+
+        assertThat(orderDTOList).extracting(OrderDTO::getItemAmount).containsExactly(1, 2);
+    }
+
+    @Test
+    public void orderItemRoundTrips() {
+        OrderItemDTO orderItemDTO = new OrderItemDTO();
+        orderItemDTO.setName("item");
+        orderItemDTO.setDescription("an item");
+        orderItemDTO.setPrice(4.25);
+
+        OrderItem orderItem = orderMapper.toEntity(orderItemDTO);
+
+        assertThat(orderItem.getOrder()).isNull();
+        assertThat(orderMapper.toDTO(orderItem)).isEqualTo(orderItemDTO);
+    }
+
+    @Test
+    public void matchesTheModelMapperOutput() {
+        Order order = order(1.5, 2.25);
+
+        assertThat(orderMapper.toDTO(order)).isEqualTo(new ModelMapper().map(order, OrderDTO.class));
+    }
+
+    static Order order(double... prices) {
+        Order order = new Order("customer@mail.com", Status.EMPTY);
+        for (int i = 0; i < prices.length; i++) {
+            order.addOrderItem(new OrderItem("item" + i, "item " + i, prices[i], null));
+        }
+        return order;
+    }
+}
@@ -0,0 +1,114 @@
+package com.netcracker.metsko.migration;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationVersion;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeFalse;
+
+/**
+ * Upgrades a database holding rows written before Flyway, then checks with EXPLAIN that the
+ * DAO lookups can use the indexes from the migrations. Runs against an embedded PostgreSQL.
+ */
+public class MigrationTest {
+
+    private static EmbeddedPostgres postgres;
+
+    private static SingleConnectionDataSource dataSource;
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeClass
+    public static void migrate() throws IOException, SQLException {
+        assumeFalse("initdb refuses to run as root", "root".equals(System.getProperty("user.name")));
+        postgres = EmbeddedPostgres.start();
+        dataSource = new SingleConnectionDataSource(postgres.getPostgresDatabase().getConnection(), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        Flyway flyway = new Flyway();
+        flyway.setDataSource(dataSource);
+        flyway.setTarget(MigrationVersion.fromVersion("1"));
+        flyway.migrate();
+
+        jdbcTemplate.execute("insert into inv_order (id, customer_email, item_amount, name, sign_payment, status, total_price) "
+                + "values (1, 'customer@mail.com', 2, 'Order#1', false, 'PENDING', 10.5)");
+        jdbcTemplate.execute("insert into order_item (id, name, price, order_id) values (2, 'first', 4.25, 1), (3, 'second', 6.25, 1)");
+        jdbcTemplate.execute("insert into inv_order_order_item_list (inv_order_id, order_item_list_id) values (1, 2), (1, 3)");
+
+        flyway.setTarget(MigrationVersion.LATEST);
+        flyway.migrate();
+
+        jdbcTemplate.execute("insert into inv_order (id, customer_email, item_amount, name, sign_payment, status, total_price) "
+                + "select g, 'customer' || g % 500 || '@mail.com', 1, 'Order#' || g, g % 10 = 0, g % 5, g % 100 "
+                + "from generate_series(1000, 20999) g");
+        jdbcTemplate.execute("insert into order_item (id, name, price, order_id) select g, 'item' || g, g % 100, g from generate_series(1000, 20999) g");
+        jdbcTemplate.execute("insert into inv_order_order_item_list (inv_order_id, order_item_list_id) select g, g from generate_series(1000, 20999) g");
+        jdbcTemplate.execute("analyze");
+        jdbcTemplate.execute("set enable_seqscan = off");
+    }
+
+    @AfterClass
+    public static void stop() throws IOException {
+        if (postgres != null) {
+            dataSource.destroy();
+            postgres.close();
+        }
+    }
+
+    @Test
+    public void existingOrdersKeepTheirStatusAndTotal() {
+        assertThat(jdbcTemplate.queryForObject("select status from inv_order where id = 1", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select total_price from inv_order where id = 1", BigDecimal.class))
+                .isEqualByComparingTo(new BigDecimal("10.50"));
+        assertThat(jdbcTemplate.queryForObject("select version from inv_order where id = 1", Long.class)).isZero();
+    }
+
+    @Test
+    public void sequencesStartPastExistingIds() {
+        assertThat(jdbcTemplate.queryForObject("select count(*) from information_schema.sequences where sequence_name = 'hibernate_sequence'", Long.class))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("select increment from information_schema.sequences where sequence_name = 'order_item_seq'", Long.class))
+                .isEqualTo(50L);
+        assertThat(jdbcTemplate.queryForObject("select last_value from order_seq", Long.class)).isEqualTo(2L);
+        assertThat(jdbcTemplate.queryForObject("select last_value from order_item_seq", Long.class)).isEqualTo(4L);
+    }
+
+    @Test
+    public void statusLookupUsesTheStatusIndex() {
+        assertThat(explain("select id from inv_order where status = 3")).contains("inv_order_status_idx");
+    }
+
+    @Test
+    public void customerLookupUsesTheEmailIndex() {
+        assertThat(explain("select id from inv_order where customer_email = 'customer42@mail.com' and status = 0"))
+                .contains("inv_order_customer_email_status_idx");
+        assertThat(explain("select id from inv_order where customer_email = 'customer42@mail.com'"))
+                .contains("inv_order_customer_email_status_idx");
+    }
+
+    @Test
+    public void paymentLookupUsesThePaymentIndex() {
+        assertThat(explain("select id from inv_order where sign_payment = true")).contains("inv_order_sign_payment_idx");
+    }
+
+    @Test
+    public void orderItemsLoadThroughTheOrderIndexes() {
+        assertThat(explain("select order_item_list_id from inv_order_order_item_list where inv_order_id = 1234"))
+                .contains("inv_order_order_item_list_order_idx");
+        assertThat(explain("select id from order_item where order_id = 1234")).contains("order_item_order_idx");
+    }
+
+    private static String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class));
+    }
+}
@@ -1,15 +1,42 @@
 package com.netcracker.metsko.config;
 
 import com.netcracker.metsko.interceptor.LoggerInterceptor;
+import com.netcracker.metsko.interceptor.TraceContextInterceptor;
+import com.netcracker.metsko.util.SmileHttpMessageConverter;
+import com.netcracker.metsko.web.client.EtagCacheInterceptor;
+import com.netcracker.metsko.web.client.TracingInterceptor;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.http.client.HttpComponentsAsyncClientHttpRequestFactory;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.client.AsyncRestTemplate;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 @Configuration
 public class WebConfiguration extends WebMvcConfigurerAdapter {
 
+    @Autowired
+    private LoggerInterceptor loggerInterceptor;
+
+    @Autowired
+    private Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    @Value("${http.client.smile}")
+    private boolean smile;
+
 //    @Override
 //    public void configureViewResolvers(ViewResolverRegistry registry) {
 //        InternalResourceViewResolver resolver = new InternalResourceViewResolver();
@@ -21,12 +48,72 @@ public class WebConfiguration extends WebMvcConfigurerAdapter {
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new LoggerInterceptor());
+        registry.addInterceptor(loggerInterceptor);
+        registry.addInterceptor(new TraceContextInterceptor());
+    }
+
+    /**
+     * One pooled, keep-alive NIO client shared by every downstream route.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpAsyncClient httpAsyncClient(@Value("${http.client.max-total}") int maxTotal,
+                                                    @Value("${http.client.max-per-route}") int maxPerRoute,
+                                                    @Value("${http.client.connection-request-timeout}") int connectionRequestTimeout) {
+        CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(connectionRequestTimeout)
+                        .build())
+                .build();
+        client.start();
+        return client;
     }
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public AsyncRestTemplate catalogRestTemplate(CloseableHttpAsyncClient httpAsyncClient,
+                                                 @Value("${http.client.catalog.connect-timeout}") int connectTimeout,
+                                                 @Value("${http.client.catalog.read-timeout}") int readTimeout,
+                                                 @Value("${http.client.catalog.etag-cache-size}") long etagCacheSize) {
+        AsyncRestTemplate restTemplate = restTemplate(requestFactory(httpAsyncClient, connectTimeout, readTimeout));
+        restTemplate.setInterceptors(Arrays.asList(new EtagCacheInterceptor(etagCacheSize), new TracingInterceptor()));
+        return restTemplate;
+    }
+
+    @Bean
+    public AsyncRestTemplate inventoryRestTemplate(CloseableHttpAsyncClient httpAsyncClient,
+                                                   @Value("${http.client.inventory.connect-timeout}") int connectTimeout,
+                                                   @Value("${http.client.inventory.read-timeout}") int readTimeout) {
+        AsyncRestTemplate restTemplate = restTemplate(requestFactory(httpAsyncClient, connectTimeout, readTimeout));
+        restTemplate.setInterceptors(Collections.singletonList(new TracingInterceptor()));
+        return restTemplate;
+    }
+
+    /**
+     * With http.client.smile on, the Smile converter goes right before the JSON one, so objects are sent
+     * and asked for as Smile while plain strings still go through the String converter.
+     */
+    private AsyncRestTemplate restTemplate(HttpComponentsAsyncClientHttpRequestFactory requestFactory) {
+        AsyncRestTemplate restTemplate = new AsyncRestTemplate(requestFactory);
+        if (smile) {
+            List<HttpMessageConverter<?>> converters = restTemplate.getMessageConverters();
+            for (int i = 0; i < converters.size(); i++) {
+                if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                    converters.add(i, new SmileHttpMessageConverter(objectMapperBuilder));
+                    break;
+                }
+            }
+        }
+        return restTemplate;
+    }
+
+    private HttpComponentsAsyncClientHttpRequestFactory requestFactory(CloseableHttpAsyncClient httpAsyncClient,
+                                                                       int connectTimeout, int readTimeout) {
+        HttpComponentsAsyncClientHttpRequestFactory requestFactory = new HttpComponentsAsyncClientHttpRequestFactory(httpAsyncClient);
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        return requestFactory;
     }
 
 }
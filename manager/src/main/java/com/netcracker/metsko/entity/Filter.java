@@ -14,6 +14,8 @@ public class Filter {
 
     private Double max;
 
+    private Boolean availability;
+
     public Filter() {
     }
 
@@ -56,6 +58,14 @@ public class Filter {
         this.max = max;
     }
 
+    public Boolean getAvailability() {
+        return availability;
+    }
+
+    public void setAvailability(Boolean availability) {
+        this.availability = availability;
+    }
+
     @Override
     public boolean equals(Object object) {
         if (this == object) return true;
@@ -64,12 +74,13 @@ public class Filter {
         return Objects.equals(getCategory(), filter.getCategory()) &&
                 Objects.equals(getTagList(), filter.getTagList()) &&
                 Objects.equals(getMin(), filter.getMin()) &&
-                Objects.equals(getMax(), filter.getMax());
+                Objects.equals(getMax(), filter.getMax()) &&
+                Objects.equals(getAvailability(), filter.getAvailability());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getCategory(), getTagList(), getMin(), getMax());
+        return Objects.hash(getCategory(), getTagList(), getMin(), getMax(), getAvailability());
     }
 
     @Override
@@ -79,6 +90,7 @@ public class Filter {
         sb.append(", tagList='").append(tagList).append('\'');
         sb.append(", min=").append(min);
         sb.append(", max=").append(max);
+        sb.append(", availability=").append(availability);
         sb.append('}');
         return sb.toString();
     }
@@ -8,7 +8,7 @@ import lombok.ToString;
 @ToString
 public class OfferDTO {
 
-
+    private Long id;
 
     private String name;
 
@@ -16,6 +16,14 @@ public class OfferDTO {
 
     private double price;
 
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public String getName() {
         return name;
     }
@@ -0,0 +1,31 @@
+package com.netcracker.metsko.interceptor;
+
+import com.netcracker.metsko.util.TraceContext;
+import com.netcracker.metsko.util.TraceContextHolder;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Binds the request's trace to the serving thread while the handler runs, and unbinds it as soon
+ * as the thread is handed back to the container.
+ */
+public class TraceContextInterceptor extends HandlerInterceptorAdapter {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        TraceContextHolder.set((TraceContext) request.getAttribute(TraceContext.ATTRIBUTE));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
+        TraceContextHolder.set(null);
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        TraceContextHolder.set(null);
+    }
+}
@@ -0,0 +1,53 @@
+package com.netcracker.metsko.util;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Bridges AsyncRestTemplate futures to CompletableFuture. Failures are reported as a
+ * CompletionException whose cause is one of our own exceptions, which the controller
+ * advice resolves by cause.
+ */
+public final class CompletableFutures {
+
+    private CompletableFutures() {
+    }
+
+    public static <T> CompletableFuture<T> body(ListenableFuture<ResponseEntity<T>> future,
+                                                Supplier<? extends Throwable> error) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        // stages chained on the result run on the client's callback thread, so they get the caller's trace there
+        TraceContext traceContext = TraceContextHolder.get();
+        future.addCallback(response -> TraceContextHolder.run(traceContext, () -> result.complete(response.getBody())),
+                ex -> TraceContextHolder.run(traceContext, () -> result.completeExceptionally(new CompletionException(error.get()))));
+        return result;
+    }
+
+    public static <T> BiFunction<T, Throwable, T> failWith(Supplier<? extends Throwable> error) {
+        return (value, ex) -> {
+            if (ex != null) {
+                throw new CompletionException(error.get());
+            }
+            return value;
+        };
+    }
+
+    /**
+     * Like failWith, but a failure whose cause is a passThrough exception keeps that cause.
+     */
+    public static <T> BiFunction<T, Throwable, T> failWith(Supplier<? extends Throwable> error,
+                                                          Class<? extends Throwable> passThrough) {
+        return (value, ex) -> {
+            if (ex != null) {
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                throw new CompletionException(passThrough.isInstance(cause) ? cause : error.get());
+            }
+            return value;
+        };
+    }
+}
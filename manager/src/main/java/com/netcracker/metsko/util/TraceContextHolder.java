@@ -0,0 +1,37 @@
+package com.netcracker.metsko.util;
+
+/**
+ * The trace of the request being served on this thread, for outgoing calls to pick up.
+ */
+public final class TraceContextHolder {
+
+    private static final ThreadLocal<TraceContext> CURRENT = new ThreadLocal<>();
+
+    private TraceContextHolder() {
+    }
+
+    public static TraceContext get() {
+        return CURRENT.get();
+    }
+
+    public static void set(TraceContext traceContext) {
+        if (traceContext == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(traceContext);
+        }
+    }
+
+    /**
+     * Runs the action with the given trace bound, restoring whatever was bound before.
+     */
+    public static void run(TraceContext traceContext, Runnable action) {
+        TraceContext previous = CURRENT.get();
+        set(traceContext);
+        try {
+            action.run();
+        } finally {
+            set(previous);
+        }
+    }
+}
@@ -1,20 +1,24 @@
 package com.netcracker.metsko.web.client;
 
 
+import com.netcracker.metsko.entity.OfferBatchDTO;
 import com.netcracker.metsko.entity.OfferDTO;
 import com.netcracker.metsko.exceptions.NotFoundException;
+import com.netcracker.metsko.util.CompletableFutures;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.AsyncRestTemplate;
 
-import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 public class CatalogClient {
@@ -23,32 +27,26 @@ public class CatalogClient {
     private String url;
 
     @Autowired
-    private RestTemplate restTemplate;
+    @Qualifier("catalogRestTemplate")
+    private AsyncRestTemplate restTemplate;
 
     public CatalogClient() {
     }
 
-    public List<OfferDTO> getOffers(Map<String, String> offerFilter) throws SQLException, NotFoundException{
-        try {
-            HttpEntity<Map<String, String>> entity = new HttpEntity<>(offerFilter);
-            ResponseEntity<List<OfferDTO>> response = restTemplate.exchange(url + "/categories/offers/filteredOffers", HttpMethod.POST, entity, new ParameterizedTypeReference<List<OfferDTO>>() {
-            });
-            List<OfferDTO> dtoList = response.getBody();
-            return dtoList;
-        }catch (Exception e)
-        {
-            throw new NotFoundException();
-        }
+    public CompletableFuture<List<OfferDTO>> getOffers(Map<String, String> offerFilter) {
+        HttpEntity<Map<String, String>> entity = new HttpEntity<>(offerFilter);
+        return CompletableFutures.body(restTemplate.exchange(url + "/categories/offers/filteredOffers", HttpMethod.POST, entity, new ParameterizedTypeReference<List<OfferDTO>>() {
+        }), NotFoundException::new);
     }
 
-    public OfferDTO findOfferById(Long offerId) throws SQLException, NotFoundException{
-        try {
-            ResponseEntity<OfferDTO> response = restTemplate.exchange(url + "/{id}",HttpMethod.GET,null, OfferDTO.class, offerId);
-            return response.getBody();
-        }catch (Exception e)
-        {
-            throw new NotFoundException();
-        }
+    public CompletableFuture<OfferDTO> findOfferById(Long offerId) {
+        return CompletableFutures.body(restTemplate.exchange(url + "/{id}", HttpMethod.GET, null, OfferDTO.class, offerId),
+                NotFoundException::new);
+    }
+
+    public CompletableFuture<OfferBatchDTO> findOffersByIds(Collection<Long> offerIds) {
+        return CompletableFutures.body(restTemplate.exchange(url + "/batch?ids={ids}", HttpMethod.GET, null, OfferBatchDTO.class,
+                StringUtils.collectionToCommaDelimitedString(offerIds)), NotFoundException::new);
     }
 
 }
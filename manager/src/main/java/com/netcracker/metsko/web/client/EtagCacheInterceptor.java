@@ -0,0 +1,113 @@
+package com.netcracker.metsko.web.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.AsyncClientHttpRequestExecution;
+import org.springframework.http.client.AsyncClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureAdapter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Keeps the last body of every GET that came with an ETag and revalidates it with If-None-Match,
+ * so an unchanged resource costs a 304 instead of a full payload.
+ */
+public class EtagCacheInterceptor implements AsyncClientHttpRequestInterceptor {
+
+    private final Cache<URI, CachedResponse> cache;
+
+    public EtagCacheInterceptor(long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    @Override
+    public ListenableFuture<ClientHttpResponse> intercept(HttpRequest request, byte[] body,
+                                                          AsyncClientHttpRequestExecution execution) throws IOException {
+        if (request.getMethod() != HttpMethod.GET) {
+            return execution.executeAsync(request, body);
+        }
+        URI uri = request.getURI();
+        CachedResponse cached = cache.getIfPresent(uri);
+        if (cached != null) {
+            request.getHeaders().setIfNoneMatch(cached.etag);
+        }
+        return new ListenableFutureAdapter<ClientHttpResponse, ClientHttpResponse>(execution.executeAsync(request, body)) {
+            @Override
+            protected ClientHttpResponse adapt(ClientHttpResponse response) throws ExecutionException {
+                try {
+                    if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                        response.close();
+                        return cached;
+                    }
+                    String etag = response.getHeaders().getETag();
+                    if (etag == null || response.getStatusCode() != HttpStatus.OK) {
+                        return response;
+                    }
+                    CachedResponse fresh = new CachedResponse(etag, response.getHeaders(), StreamUtils.copyToByteArray(response.getBody()));
+                    response.close();
+                    cache.put(uri, fresh);
+                    return fresh;
+                } catch (IOException e) {
+                    throw new ExecutionException(e);
+                }
+            }
+        };
+    }
+
+    private static class CachedResponse implements ClientHttpResponse {
+
+        private final String etag;
+
+        private final HttpHeaders headers;
+
+        private final byte[] body;
+
+        CachedResponse(String etag, HttpHeaders headers, byte[] body) {
+            this.etag = etag;
+            this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+            this.body = body;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() {
+            return HttpStatus.OK;
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return HttpStatus.OK.value();
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
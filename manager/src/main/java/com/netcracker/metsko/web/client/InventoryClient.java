@@ -5,18 +5,18 @@ import com.netcracker.metsko.entity.OrderItemDTO;
 import com.netcracker.metsko.exceptions.NotCreatedException;
 import com.netcracker.metsko.exceptions.NotFoundException;
 import com.netcracker.metsko.exceptions.NotUpdatedException;
+import com.netcracker.metsko.util.CompletableFutures;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.AsyncRestTemplate;
 
-import java.sql.SQLException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 public class InventoryClient {
@@ -25,94 +25,58 @@ public class InventoryClient {
     private String url;
 
     @Autowired
-    private RestTemplate restTemplate;
+    @Qualifier("inventoryRestTemplate")
+    private AsyncRestTemplate restTemplate;
 
     public InventoryClient() {
     }
 
-    public OrderDTO createOrder(String customerEmail) throws RestClientException, NotCreatedException, SQLException {
-        try {
-            HttpEntity<String> entity = new HttpEntity<>(customerEmail);
-            ResponseEntity<OrderDTO> response = restTemplate.postForEntity(url + "/orders", entity, OrderDTO.class);
-            OrderDTO orderDTO = response.getBody();
-            return orderDTO;
-        } catch (Exception e) {
-            throw new NotCreatedException();
-        }
+    public CompletableFuture<OrderDTO> createOrder(String customerEmail) {
+        HttpEntity<String> entity = new HttpEntity<>(customerEmail);
+        return CompletableFutures.body(restTemplate.postForEntity(url + "/orders", entity, OrderDTO.class),
+                NotCreatedException::new);
     }
 
-    public OrderDTO addOrderItem(Long id, OrderItemDTO orderItem) throws SQLException, NotUpdatedException {
-        try {
-            HttpEntity<OrderItemDTO> entity = new HttpEntity<>(orderItem);
-            ResponseEntity<OrderDTO> response = restTemplate.exchange(url + "/orders/{id}/orderitems", HttpMethod.POST, entity, OrderDTO.class, id);
-            OrderDTO orderDTO = response.getBody();
-            return orderDTO;
-        } catch (Exception e) {
-            throw new NotUpdatedException();
-        }
+    public CompletableFuture<OrderDTO> addOrderItem(Long id, OrderItemDTO orderItem) {
+        HttpEntity<OrderItemDTO> entity = new HttpEntity<>(orderItem);
+        return CompletableFutures.body(restTemplate.exchange(url + "/orders/{id}/orderitems", HttpMethod.POST, entity, OrderDTO.class, id),
+                NotUpdatedException::new);
     }
 
-    public OrderDTO removeOrderItem(Long id, Long orderItemId) throws SQLException, NotUpdatedException {
-        try {
-            HttpEntity<Long> entity = new HttpEntity<>(orderItemId);
-            ResponseEntity<OrderDTO> response = restTemplate.exchange(url + "/orders/{id}/orderitems", HttpMethod.DELETE, entity, OrderDTO.class, id);
-            OrderDTO orderDTO = response.getBody();
-            return orderDTO;
-        } catch (Exception e) {
-            throw new NotUpdatedException();
-        }
+    public CompletableFuture<OrderDTO> addOrderItems(Long id, List<OrderItemDTO> orderItems) {
+        HttpEntity<List<OrderItemDTO>> entity = new HttpEntity<>(orderItems);
+        return CompletableFutures.body(restTemplate.exchange(url + "/orders/{id}/orderitems/batch", HttpMethod.POST, entity, OrderDTO.class, id),
+                NotUpdatedException::new);
     }
 
-    public List<OrderDTO> getOrdersByPayment(boolean signPayment) throws SQLException, NotFoundException {
-        try {
-            ResponseEntity<List<OrderDTO>> response = restTemplate.exchange(url + "/orders/payments?signPayment={signPayment}", HttpMethod.GET, null, new ParameterizedTypeReference<List<OrderDTO>>() {
-            }, signPayment);
-            List<OrderDTO> dtoList = response.getBody();
-            return dtoList;
-        } catch (Exception e) {
-            throw new NotFoundException();
-        }
+    public CompletableFuture<OrderDTO> removeOrderItem(Long id, Long orderItemId) {
+        HttpEntity<Long> entity = new HttpEntity<>(orderItemId);
+        return CompletableFutures.body(restTemplate.exchange(url + "/orders/{id}/orderitems", HttpMethod.DELETE, entity, OrderDTO.class, id),
+                NotUpdatedException::new);
     }
 
-    public Double findTotalPrice(Long id) throws SQLException, NotFoundException {
-        try {
-            ResponseEntity<Double> response = restTemplate.exchange(url + "/orders/{id}/totalprices", HttpMethod.GET, null, Double.class, id);
-            Double price = response.getBody();
-            return price;
-        } catch (Exception e) {
-            throw new NotFoundException();
-        }
+    public CompletableFuture<List<OrderDTO>> getOrdersByPayment(boolean signPayment) {
+        return CompletableFutures.body(restTemplate.exchange(url + "/orders/payments?signPayment={signPayment}", HttpMethod.GET, null, new ParameterizedTypeReference<List<OrderDTO>>() {
+        }, signPayment), NotFoundException::new);
     }
 
-    public OrderDTO payForOrder(Long id) throws SQLException, NotUpdatedException {
-        try {
-            ResponseEntity<OrderDTO> response = restTemplate.exchange(url + "/orders/{id}/payments", HttpMethod.PUT, null, OrderDTO.class, id);
-            OrderDTO orderDTO = response.getBody();
-            return orderDTO;
-        }catch (Exception e){
-            throw new NotUpdatedException();
-        }
+    public CompletableFuture<Double> findTotalPrice(Long id) {
+        return CompletableFutures.body(restTemplate.exchange(url + "/orders/{id}/totalprices", HttpMethod.GET, null, Double.class, id),
+                NotFoundException::new);
     }
 
-    public List<OrderDTO> findOrdersByStatus(String status) throws SQLException, NotFoundException {
-        try {
-            ResponseEntity<List<OrderDTO>> response = restTemplate.exchange(url + "/orders/status/{status}", HttpMethod.GET, null, new ParameterizedTypeReference<List<OrderDTO>>() {
-            }, status);
-            List<OrderDTO> dtoList = response.getBody();
-            return dtoList;
-        } catch (Exception e) {
-            throw new NotFoundException();
-        }
+    public CompletableFuture<OrderDTO> payForOrder(Long id) {
+        return CompletableFutures.body(restTemplate.exchange(url + "/orders/{id}/payments", HttpMethod.PUT, null, OrderDTO.class, id),
+                NotUpdatedException::new);
     }
 
-    public OrderDTO findOrderById(Long id) throws SQLException, NotFoundException {
-        try {
-            ResponseEntity<OrderDTO> response = restTemplate.exchange(url + "/orders/{id}", HttpMethod.GET, null, OrderDTO.class, id);
-            OrderDTO orderDTO = response.getBody();
-            return orderDTO;
-        } catch (Exception e) {
-            throw new NotFoundException();
-        }
+    public CompletableFuture<List<OrderDTO>> findOrdersByStatus(String status) {
+        return CompletableFutures.body(restTemplate.exchange(url + "/orders/status/{status}", HttpMethod.GET, null, new ParameterizedTypeReference<List<OrderDTO>>() {
+        }, status), NotFoundException::new);
+    }
 
+    public CompletableFuture<OrderDTO> findOrderById(Long id) {
+        return CompletableFutures.body(restTemplate.exchange(url + "/orders/{id}", HttpMethod.GET, null, OrderDTO.class, id),
+                NotFoundException::new);
     }
 }
@@ -0,0 +1,44 @@
+package com.netcracker.metsko.web.client;
+
+import com.netcracker.metsko.util.Spans;
+import com.netcracker.metsko.util.TraceContext;
+import com.netcracker.metsko.util.TraceContextHolder;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.AsyncClientHttpRequestExecution;
+import org.springframework.http.client.AsyncClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.io.IOException;
+
+/**
+ * Sends the current trace downstream as a child span in the traceparent header and records that
+ * span once the response arrives.
+ */
+public class TracingInterceptor implements AsyncClientHttpRequestInterceptor {
+
+    @Override
+    public ListenableFuture<ClientHttpResponse> intercept(HttpRequest request, byte[] body,
+                                                          AsyncClientHttpRequestExecution execution) throws IOException {
+        TraceContext parent = TraceContextHolder.get();
+        if (parent == null) {
+            return execution.executeAsync(request, body);
+        }
+        TraceContext span = parent.child();
+        request.getHeaders().set(TraceContext.HEADER, span.header());
+        String name = request.getMethod() + " " + request.getURI().getPath();
+        long start = System.nanoTime();
+        ListenableFuture<ClientHttpResponse> future = execution.executeAsync(request, body);
+        future.addCallback(response -> Spans.export(span, "client", name, System.nanoTime() - start, statusOf(response)),
+                ex -> Spans.export(span, "client", name, System.nanoTime() - start, 0));
+        return future;
+    }
+
+    private static int statusOf(ClientHttpResponse response) {
+        try {
+            return response.getRawStatusCode();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -5,9 +5,9 @@ import com.netcracker.metsko.entity.Filter;
 import com.netcracker.metsko.entity.OfferDTO;
 import com.netcracker.metsko.entity.OrderDTO;
 import com.netcracker.metsko.entity.OrderItemDTO;
-import com.netcracker.metsko.exceptions.NotCreatedException;
 import com.netcracker.metsko.exceptions.NotFoundException;
 import com.netcracker.metsko.exceptions.NotUpdatedException;
+import com.netcracker.metsko.util.CompletableFutures;
 import com.netcracker.metsko.web.client.CatalogClient;
 import com.netcracker.metsko.web.client.InventoryClient;
 import io.swagger.annotations.Api;
@@ -19,10 +19,12 @@ import org.springframework.ui.Model;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/manager")
@@ -36,112 +38,95 @@ public class ManagerController {
     private InventoryClient inventoryClient;
 
     @PostMapping(value = "/offers/filters")
-    public ResponseEntity<List<OfferDTO>> getFilteredOffers(@Validated @RequestBody Filter filter) throws NotFoundException, SQLException {
-        try {
-            Map<String, String> map = new HashMap<>();
-            map.put("category", filter.getCategory());
-            map.put("tagList", filter.getTagList());
-            if (filter.getMin() == null) {
-                map.put("min", Double.toString(0));
-            } else {
-                map.put("min", Double.toString(filter.getMin()));
-            }
-            if (filter.getMax() == null) {
-                map.put("max", Double.toString(0));
-            } else {
-                map.put("max", Double.toString(filter.getMax()));
-            }
-            List<OfferDTO> dtoList = catalogClient.getOffers(map);
-            return new ResponseEntity<>(dtoList, HttpStatus.OK);
-        } catch (Exception e) {
-            throw new NotFoundException();
+    public CompletableFuture<ResponseEntity<List<OfferDTO>>> getFilteredOffers(@Validated @RequestBody Filter filter) {
+        Map<String, String> map = new HashMap<>();
+        map.put("category", filter.getCategory());
+        map.put("tagList", filter.getTagList());
+        if (filter.getMin() == null) {
+            map.put("min", Double.toString(0));
+        } else {
+            map.put("min", Double.toString(filter.getMin()));
         }
+        if (filter.getMax() == null) {
+            map.put("max", Double.toString(0));
+        } else {
+            map.put("max", Double.toString(filter.getMax()));
+        }
+        if (filter.getAvailability() != null) {
+            map.put("availability", Boolean.toString(filter.getAvailability()));
+        }
+        return catalogClient.getOffers(map)
+                .thenApply(dtoList -> new ResponseEntity<>(dtoList, HttpStatus.OK));
     }
 
     @PostMapping(value = "/orders")
-    public ResponseEntity<OrderDTO> createOrder(@Email @RequestBody String customerEmail) throws SQLException, NotCreatedException {
-        try {
-            OrderDTO dto = inventoryClient.createOrder(customerEmail);
-            return new ResponseEntity<>(dto, HttpStatus.OK);
-        } catch (Exception e) {
-            throw new NotCreatedException();
-        }
+    public CompletableFuture<ResponseEntity<OrderDTO>> createOrder(@Email @RequestBody String customerEmail) {
+        return inventoryClient.createOrder(customerEmail)
+                .thenApply(dto -> new ResponseEntity<>(dto, HttpStatus.OK));
     }
 
     @PostMapping(value = "/orders/{id}/orderItems")
-    public ResponseEntity<OrderDTO> addOrderItem(@PathVariable("id") Long id, @RequestBody Long offerId) throws NotFoundException, SQLException, NotUpdatedException {
-        try {
-            OfferDTO offerDTO = catalogClient.findOfferById(offerId);
-            OrderItemDTO orderItemDTO = new OrderItemDTO();
-            orderItemDTO.setName(offerDTO.getName());
-            orderItemDTO.setDescription(offerDTO.getDescription());
-            orderItemDTO.setPrice(offerDTO.getPrice());
-            OrderDTO dto = inventoryClient.addOrderItem(id, orderItemDTO);
-            return new ResponseEntity<>(dto, HttpStatus.OK);
-        } catch (Exception e) {
-            throw new NotUpdatedException();
-        }
+    public CompletableFuture<ResponseEntity<OrderDTO>> addOrderItem(@PathVariable("id") Long id, @RequestBody Long offerId) {
+        return catalogClient.findOfferById(offerId)
+                .thenCompose(offerDTO -> inventoryClient.addOrderItem(id, toOrderItem(offerDTO)))
+                .handle(CompletableFutures.failWith(NotUpdatedException::new))
+                .thenApply(dto -> new ResponseEntity<>(dto, HttpStatus.OK));
+    }
+
+    @PostMapping(value = "/orders/{id}/orderItems/batch")
+    public CompletableFuture<ResponseEntity<OrderDTO>> addOrderItems(@PathVariable("id") Long id, @RequestBody List<Long> offerIds) {
+        return catalogClient.findOffersByIds(offerIds)
+                .thenCompose(batchDTO -> {
+                    if (!batchDTO.getMissingIds().isEmpty()) {
+                        throw new CompletionException(new NotFoundException());
+                    }
+                    Map<Long, OfferDTO> offers = batchDTO.getOffers().stream()
+                            .collect(Collectors.toMap(OfferDTO::getId, offerDTO -> offerDTO));
+                    return inventoryClient.addOrderItems(id, offerIds.stream()
+                            .map(offerId -> toOrderItem(offers.get(offerId)))
+                            .collect(Collectors.toList()));
+                })
+                .handle(CompletableFutures.failWith(NotUpdatedException::new, NotFoundException.class))
+                .thenApply(dto -> new ResponseEntity<>(dto, HttpStatus.OK));
     }
 
     @DeleteMapping(value = "/orders/{id}/orderItems")
-    public ResponseEntity<OrderDTO> removeOrderItem(@PathVariable("id") Long id, @RequestBody Long orderItemId) throws NotUpdatedException {
-        try {
-            OrderDTO orderDTO = inventoryClient.removeOrderItem(id, orderItemId);
-            return new ResponseEntity<>(orderDTO, HttpStatus.OK);
-        } catch (Exception e) {
-            throw new NotUpdatedException();
-        }
+    public CompletableFuture<ResponseEntity<OrderDTO>> removeOrderItem(@PathVariable("id") Long id, @RequestBody Long orderItemId) {
+        return inventoryClient.removeOrderItem(id, orderItemId)
+                .thenApply(orderDTO -> new ResponseEntity<>(orderDTO, HttpStatus.OK));
     }
 
     @GetMapping(value = "/orders/payments")
-    public ResponseEntity<List<OrderDTO>> getOrdersByPayment(@RequestParam("signPayment") boolean signPayment, Model model) throws NotFoundException {
-        try {
-            List<OrderDTO> orders = inventoryClient.getOrdersByPayment(signPayment);
-            model.addAttribute("orders", orders);
-            return new ResponseEntity<>(orders, HttpStatus.OK);
-        } catch (Exception e) {
-            throw new NotFoundException();
-        }
+    public CompletableFuture<ResponseEntity<List<OrderDTO>>> getOrdersByPayment(@RequestParam("signPayment") boolean signPayment, Model model) {
+        return inventoryClient.getOrdersByPayment(signPayment)
+                .thenApply(orders -> {
+                    model.addAttribute("orders", orders);
+                    return new ResponseEntity<>(orders, HttpStatus.OK);
+                });
     }
 
     @GetMapping(value = "/orders/{id}/totalprices")
-    public ResponseEntity<Double> getTotalPrice(@PathVariable("id") Long id) throws NotFoundException {
-        try {
-            Double price = inventoryClient.findTotalPrice(id);
-            return new ResponseEntity<>(price, HttpStatus.OK);
-        } catch (Exception e) {
-            throw new NotFoundException();
-        }
+    public CompletableFuture<ResponseEntity<Double>> getTotalPrice(@PathVariable("id") Long id) {
+        return inventoryClient.findTotalPrice(id)
+                .thenApply(price -> new ResponseEntity<>(price, HttpStatus.OK));
     }
 
     @PutMapping(value = "/orders/{id}/payments")
-    public ResponseEntity<OrderDTO> payForOrders(@PathVariable("id") Long id) throws NotUpdatedException, SQLException {
-        try {
-            OrderDTO order = inventoryClient.payForOrder(id);
-            return new ResponseEntity<>(order, HttpStatus.OK);
-        } catch (Exception e) {
-            throw new NotUpdatedException();
-        }
+    public CompletableFuture<ResponseEntity<OrderDTO>> payForOrders(@PathVariable("id") Long id) {
+        return inventoryClient.payForOrder(id)
+                .thenApply(order -> new ResponseEntity<>(order, HttpStatus.OK));
     }
 
     @GetMapping(value = "/orders/status/{status}")
-    public ResponseEntity<List<OrderDTO>> findOrdersByStatus(@PathVariable("status") String status) throws NotFoundException, SQLException {
-        try {
-            List<OrderDTO> orders = inventoryClient.findOrdersByStatus(status);
-            return new ResponseEntity<>(orders, HttpStatus.OK);
-        } catch (Exception e) {
-            throw new NotFoundException();
-        }
+    public CompletableFuture<ResponseEntity<List<OrderDTO>>> findOrdersByStatus(@PathVariable("status") String status) {
+        return inventoryClient.findOrdersByStatus(status)
+                .thenApply(orders -> new ResponseEntity<>(orders, HttpStatus.OK));
     }
 
     @GetMapping(value = "/orders/{id}")
-    public ResponseEntity<OrderDTO> findOrdersById(@PathVariable("id") Long id) throws NotFoundException, SQLException {
-        try {
-            OrderDTO order = inventoryClient.findOrderById(id);
-            return new ResponseEntity<>(order, HttpStatus.OK);
-        } catch (Exception e) {
-            throw new NotFoundException();
-        }
+    public CompletableFuture<ResponseEntity<OrderDTO>> findOrdersById(@PathVariable("id") Long id) {
+        return inventoryClient.findOrderById(id)
+                .thenApply(order -> new ResponseEntity<>(order, HttpStatus.OK));
     }
 
 //    @GetMapping("/home")
@@ -149,4 +134,12 @@ public class ManagerController {
 //        map.addAttribute("name", "Manager");
 //        return "home";
 //    }
+
+    private OrderItemDTO toOrderItem(OfferDTO offerDTO) {
+        OrderItemDTO orderItemDTO = new OrderItemDTO();
+        orderItemDTO.setName(offerDTO.getName());
+        orderItemDTO.setDescription(offerDTO.getDescription());
+        orderItemDTO.setPrice(offerDTO.getPrice());
+        return orderItemDTO;
+    }
 }